@@ -55,6 +55,11 @@ public class ExcelFieldConfig {
      */
     private String dateFormat = "yyyy-MM-dd HH:mm:ss";
     
+    /**
+     * 数字格式（Excel格式串，如#,##0.00）
+     */
+    private String numberFormat;
+    
     /**
      * 验证器列表
      */
@@ -133,6 +138,14 @@ public class ExcelFieldConfig {
         this.dateFormat = dateFormat;
     }
 
+    public String getNumberFormat() {
+        return numberFormat;
+    }
+
+    public void setNumberFormat(String numberFormat) {
+        this.numberFormat = numberFormat;
+    }
+
     public List<FieldValidator> getValidators() {
         return validators;
     }
@@ -36,6 +36,11 @@ public class ExcelTemplateConfig {
      * 字段配置列表
      */
     private List<ExcelFieldConfig> fields;
+    
+    /**
+     * 配置版本(模板及字段配置的最后更新时间戳)
+     */
+    private Long version;
 
     public String getTemplateKey() {
         return templateKey;
@@ -84,6 +89,14 @@ public class ExcelTemplateConfig {
     public void setFields(List<ExcelFieldConfig> fields) {
         this.fields = fields;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     
     /**
      * 设置字段可见性
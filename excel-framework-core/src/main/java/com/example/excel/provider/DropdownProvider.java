@@ -14,4 +14,13 @@ public interface DropdownProvider {
      * @return 下拉选项列表
      */
     List<DropdownOption> getOptions(Object... params);
+    
+    /**
+     * 获取缓存键，选项内容相同的提供者应返回相同的键
+     * 
+     * @return 缓存键，返回null表示不缓存
+     */
+    default String getCacheKey() {
+        return null;
+    }
 }
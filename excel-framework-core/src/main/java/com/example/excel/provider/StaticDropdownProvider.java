@@ -0,0 +1,35 @@
+package com.example.excel.provider;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 静态下拉数据提供者
+ * 选项直接来自模板配置
+ */
+public class StaticDropdownProvider implements DropdownProvider {
+    /**
+     * 选项列表
+     */
+    private final List<DropdownOption> options;
+    
+    /**
+     * 缓存键
+     */
+    private final String cacheKey;
+
+    public StaticDropdownProvider(List<DropdownOption> options, String cacheKey) {
+        this.options = Collections.unmodifiableList(options);
+        this.cacheKey = cacheKey;
+    }
+
+    @Override
+    public List<DropdownOption> getOptions(Object... params) {
+        return options;
+    }
+
+    @Override
+    public String getCacheKey() {
+        return cacheKey;
+    }
+}
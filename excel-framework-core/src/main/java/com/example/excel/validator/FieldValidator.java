@@ -0,0 +1,15 @@
+package com.example.excel.validator;
+
+/**
+ * 字段验证器接口
+ * 用于在导入时对单个字段值进行校验
+ */
+public interface FieldValidator {
+    /**
+     * 校验字段值
+     * 
+     * @param value 已转换后的字段值
+     * @return 错误信息，校验通过时返回null
+     */
+    String validate(Object value);
+}
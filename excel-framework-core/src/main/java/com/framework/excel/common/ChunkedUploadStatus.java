@@ -0,0 +1,120 @@
+package com.framework.excel.common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分片上传状态
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class ChunkedUploadStatus implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 上传ID
+     */
+    private String uploadId;
+
+    /**
+     * 模板Key
+     */
+    private String templateKey;
+
+    /**
+     * 原始文件名
+     */
+    private String fileName;
+
+    /**
+     * 文件总大小（字节）
+     */
+    private long totalSize;
+
+    /**
+     * 分片大小（字节），最后一片可以更小
+     */
+    private long chunkSize;
+
+    /**
+     * 分片总数
+     */
+    private int chunkCount;
+
+    /**
+     * 已接收的分片序号（从0开始，升序），断点续传时只需上传缺失的分片
+     */
+    private List<Integer> receivedChunks = new ArrayList<>();
+
+    /**
+     * 合并后提交的导入任务ID，未完成合并时为空
+     */
+    private Long jobId;
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public String getTemplateKey() {
+        return templateKey;
+    }
+
+    public void setTemplateKey(String templateKey) {
+        this.templateKey = templateKey;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(long chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public List<Integer> getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public void setReceivedChunks(List<Integer> receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+}
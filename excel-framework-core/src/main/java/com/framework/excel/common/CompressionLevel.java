@@ -0,0 +1,45 @@
+package com.framework.excel.common;
+
+import java.util.zip.Deflater;
+
+/**
+ * xlsx压缩级别
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public enum CompressionLevel {
+
+    /**
+     * 不压缩（deflate级别0），CPU开销最低，文件最大
+     */
+    STORE(Deflater.NO_COMPRESSION),
+
+    /**
+     * 最快压缩
+     */
+    FAST(Deflater.BEST_SPEED),
+
+    /**
+     * 默认压缩
+     */
+    DEFAULT(Deflater.DEFAULT_COMPRESSION),
+
+    /**
+     * 最高压缩
+     */
+    BEST(Deflater.BEST_COMPRESSION);
+
+    private final int level;
+
+    CompressionLevel(int level) {
+        this.level = level;
+    }
+
+    /**
+     * @return Deflater压缩级别
+     */
+    public int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,63 @@
+package com.framework.excel.common;
+
+import java.util.Locale;
+
+/**
+ * 导入导出文件格式
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public enum FileFormat {
+
+    /**
+     * Excel 2007+工作簿
+     */
+    XLSX(".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+
+    /**
+     * UTF-8逗号分隔文本，首行为表头
+     */
+    CSV(".csv", "text/csv"),
+
+    /**
+     * 换行分隔的JSON对象（每行一条记录），仅用于导出
+     */
+    NDJSON(".ndjson", "application/x-ndjson");
+
+    private final String extension;
+
+    private final String contentType;
+
+    FileFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return 文件扩展名（含点）
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @return 响应Content-Type
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 按文件名扩展名识别格式，无法识别时按xlsx处理
+     *
+     * @param fileName 文件名
+     * @return 文件格式
+     */
+    public static FileFormat fromFileName(String fileName) {
+        if (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(CSV.extension)) {
+            return CSV;
+        }
+        return XLSX;
+    }
+}
@@ -0,0 +1,63 @@
+package com.framework.excel.common;
+
+import java.io.Serializable;
+
+/**
+ * 导入错误信息
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class ImportError implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Excel行号（从1开始）
+     */
+    private int rowNum;
+    
+    /**
+     * 列名，整行错误时为空
+     */
+    private String columnName;
+    
+    /**
+     * 错误信息
+     */
+    private String message;
+    
+    public ImportError() {
+    }
+    
+    public ImportError(int rowNum, String columnName, String message) {
+        this.rowNum = rowNum;
+        this.columnName = columnName;
+        this.message = message;
+    }
+    
+    // Getters and setters
+    public int getRowNum() {
+        return rowNum;
+    }
+    
+    public void setRowNum(int rowNum) {
+        this.rowNum = rowNum;
+    }
+    
+    public String getColumnName() {
+        return columnName;
+    }
+    
+    public void setColumnName(String columnName) {
+        this.columnName = columnName;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
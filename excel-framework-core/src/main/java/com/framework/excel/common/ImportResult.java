@@ -0,0 +1,128 @@
+package com.framework.excel.common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 导入结果类
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class ImportResult implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * 读取的数据行数
+     */
+    private int totalCount;
+    
+    /**
+     * 成功写入行数
+     */
+    private int successCount;
+    
+    /**
+     * 失败行数
+     */
+    private int failCount;
+    
+    /**
+     * 按更新模式跳过的行数（仅插入时已存在、仅更新时不存在）
+     */
+    private int skipCount;
+    
+    /**
+     * 是否因超过最大导入行数而截断
+     */
+    private boolean truncated;
+    
+    /**
+     * 耗时（毫秒）
+     */
+    private long costTime;
+    
+    /**
+     * 错误明细
+     */
+    private List<ImportError> errors = new ArrayList<>();
+    
+    /**
+     * 记录一条错误
+     *
+     * @param rowNum 行号
+     * @param columnName 列名
+     * @param message 错误信息
+     */
+    public void addError(int rowNum, String columnName, String message) {
+        errors.add(new ImportError(rowNum, columnName, message));
+    }
+    
+    /**
+     * 判断是否全部成功
+     *
+     * @return 是否全部成功
+     */
+    public boolean isAllSuccess() {
+        return failCount == 0 && errors.isEmpty();
+    }
+    
+    // Getters and setters
+    public int getTotalCount() {
+        return totalCount;
+    }
+    
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+    
+    public int getSuccessCount() {
+        return successCount;
+    }
+    
+    public void setSuccessCount(int successCount) {
+        this.successCount = successCount;
+    }
+    
+    public int getFailCount() {
+        return failCount;
+    }
+    
+    public void setFailCount(int failCount) {
+        this.failCount = failCount;
+    }
+    
+    public int getSkipCount() {
+        return skipCount;
+    }
+    
+    public void setSkipCount(int skipCount) {
+        this.skipCount = skipCount;
+    }
+    
+    public boolean isTruncated() {
+        return truncated;
+    }
+    
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+    
+    public long getCostTime() {
+        return costTime;
+    }
+    
+    public void setCostTime(long costTime) {
+        this.costTime = costTime;
+    }
+    
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<ImportError> errors) {
+        this.errors = errors;
+    }
+}
@@ -2,6 +2,7 @@ package com.framework.excel.common;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 分页结果类
@@ -38,6 +39,21 @@ public class PageResult<T> implements Serializable {
      */
     private List<T> list;
     
+    /**
+     * 下一页游标（键集分页），为null时没有下一页
+     */
+    private String nextCursor;
+    
+    /**
+     * 总记录数来源
+     */
+    private TotalType totalType = TotalType.EXACT;
+    
+    /**
+     * 是否有下一页
+     */
+    private boolean more;
+    
     public PageResult() {
     }
     
@@ -47,6 +63,7 @@ public class PageResult<T> implements Serializable {
         this.total = total;
         this.list = list;
         this.pages = (int) Math.ceil((double) total / pageSize);
+        this.more = pageNum < pages;
     }
     
     /**
@@ -63,6 +80,57 @@ public class PageResult<T> implements Serializable {
         return new PageResult<>(pageNum, pageSize, total, list);
     }
     
+    /**
+     * 创建分页结果，是否有下一页由多查询的一行判断，不依赖总数
+     *
+     * @param pageNum 当前页码
+     * @param pageSize 每页大小
+     * @param rows 查询结果（最多pageSize + 1行）
+     * @param total 总记录数，totalType为ABSENT时忽略
+     * @param totalType 总记录数来源
+     * @param <T> 数据类型
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> of(int pageNum, int pageSize, List<T> rows, long total, TotalType totalType) {
+        PageResult<T> result = totalType == TotalType.ABSENT ? new PageResult<>()
+                : new PageResult<>(pageNum, pageSize, total, null);
+        result.setPageNum(pageNum);
+        result.setPageSize(pageSize);
+        result.setTotalType(totalType);
+        if (totalType == TotalType.ABSENT) {
+            result.setTotal(-1);
+            result.setPages(-1);
+        }
+        result.setMore(rows.size() > pageSize);
+        result.setList(result.more ? rows.subList(0, pageSize) : rows);
+        return result;
+    }
+    
+    /**
+     * 创建键集分页结果
+     * <p>
+     * rows按PageCursor.apply设置的limit多查询一行，多出的行只用于判断是否有下一页。
+     *
+     * @param pageSize 每页大小
+     * @param rows 查询结果（最多pageSize + 1行）
+     * @param cursorOf 由行生成游标的函数，如 f -&gt; PageCursor.encode(f.getCreateTime(), f.getId())
+     * @param <T> 数据类型
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> seek(int pageSize, List<T> rows, Function<T, String> cursorOf) {
+        PageResult<T> result = new PageResult<>();
+        result.setPageSize(pageSize);
+        result.setTotalType(TotalType.ABSENT);
+        result.setTotal(-1);
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            result.setNextCursor(cursorOf.apply(rows.get(pageSize - 1)));
+            result.setMore(true);
+        }
+        result.setList(rows);
+        return result;
+    }
+    
     /**
      * 判断是否有上一页
      *
@@ -78,7 +146,7 @@ public class PageResult<T> implements Serializable {
      * @return 是否有下一页
      */
     public boolean hasNext() {
-        return pageNum < pages;
+        return more;
     }
     
     // Getters and setters
@@ -121,4 +189,48 @@ public class PageResult<T> implements Serializable {
     public void setList(List<T> list) {
         this.list = list;
     }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public TotalType getTotalType() {
+        return totalType;
+    }
+    
+    public void setTotalType(TotalType totalType) {
+        this.totalType = totalType;
+    }
+    
+    public boolean isMore() {
+        return more;
+    }
+    
+    public void setMore(boolean more) {
+        this.more = more;
+    }
+    
+    /**
+     * 总记录数来源
+     */
+    public enum TotalType {
+        /**
+         * 本次查询统计的精确总数
+         */
+        EXACT,
+        
+        /**
+         * 短期缓存的总数，可能与当前数据略有偏差
+         */
+        CACHED,
+        
+        /**
+         * 未统计总数，total为-1，是否有下一页见more
+         */
+        ABSENT
+    }
 }
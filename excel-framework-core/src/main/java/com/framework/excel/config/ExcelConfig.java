@@ -1,9 +1,11 @@
 package com.framework.excel.config;
 
+import com.framework.excel.common.CompressionLevel;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -22,6 +24,26 @@ public class ExcelConfig {
      */
     private String tempDir = System.getProperty("java.io.tmpdir") + "/excel";
     
+    /**
+     * 原始请求体上传的最大文件大小（MB），与spring.servlet.multipart.max-file-size保持一致
+     */
+    private Long maxUploadSize = 100L;
+    
+    /**
+     * 分片上传的默认分片大小（MB）
+     */
+    private Long uploadChunkSize = 5L;
+    
+    /**
+     * 上传临时文件的最长保留时间（分钟），超过且不在使用中的import-*文件由后台清理，也是分片上传会话的空闲过期时间
+     */
+    private Long tempFileMaxAge = 60L;
+    
+    /**
+     * 临时文件清理间隔（分钟）
+     */
+    private Long tempFileCleanInterval = 10L;
+    
     /**
      * 最大导入行数
      */
@@ -32,6 +54,36 @@ public class ExcelConfig {
      */
     private Integer templateCacheTime = 3600;
     
+    /**
+     * 模板缓存最大条目数
+     */
+    private Integer templateCacheSize = 256;
+    
+    /**
+     * 下拉选项缓存时间(秒)
+     */
+    private Integer dropdownCacheTime = 300;
+    
+    /**
+     * 下拉选项缓存最大条目数
+     */
+    private Integer dropdownCacheSize = 512;
+    
+    /**
+     * 分页总数缓存时间（秒），用于CACHED总数模式
+     */
+    private Integer pageCountCacheTime = 30;
+    
+    /**
+     * 分页总数缓存最大条目数
+     */
+    private Integer pageCountCacheSize = 1024;
+    
+    /**
+     * 导入时批量校验存在性的外键列：模板Key -> 字段名 -> "表名.列名"
+     */
+    private Map<String, Map<String, String>> referenceChecks = new HashMap<>();
+    
     /**
      * 模板配置
      */
@@ -56,4 +108,120 @@ public class ExcelConfig {
      * 批量处理大小
      */
     private Integer batchSize = 1000;
+    
+    /**
+     * 导入分块并行度，1为顺序处理；实际值不超过数据库连接池max-active减一
+     */
+    private Integer importParallelism = 1;
+    
+    /**
+     * 操作日志异步写入队列容量，队列满时丢弃新记录
+     */
+    private Integer operationLogQueueCapacity = 10000;
+    
+    /**
+     * 操作日志每批写入条数，积压达到该值时立即写入
+     */
+    private Integer operationLogBatchSize = 200;
+    
+    /**
+     * 操作日志定时写入间隔（毫秒）
+     */
+    private Long operationLogFlushInterval = 1000L;
+    
+    /**
+     * 分块写入遇到死锁或锁等待超时时的最大重试次数
+     */
+    private Integer importDeadlockRetries = 3;
+    
+    /**
+     * 死锁重试的基础退避时间（毫秒），第n次重试在[base*2^(n-1)/2, base*2^(n-1)]内随机等待
+     */
+    private Long importDeadlockBackoff = 50L;
+    
+    /**
+     * 导出时SXSSF在内存中保留的行数，超出部分刷写到临时文件
+     */
+    private Integer exportRowAccessWindow = 100;
+    
+    /**
+     * 导出xlsx是否使用共享字符串表；默认写入内联字符串，避免描述、解决方案等高基数文本列的字符串表占用内存
+     */
+    private Boolean exportSharedStrings = false;
+    
+    /**
+     * 导出xlsx的zip压缩级别：STORE/FAST/DEFAULT/BEST，内网传输时STORE或FAST可显著降低CPU耗时
+     */
+    private CompressionLevel exportCompressionLevel = CompressionLevel.DEFAULT;
+    
+    /**
+     * 导出xlsx是否总是写入zip64扩展，输出可能超过4GB时开启
+     */
+    private Boolean exportZip64 = false;
+    
+    /**
+     * 导出CSV时是否为以=、+、-、@等开头的文本加单引号，防止在Excel中作为公式执行；
+     * 会改变导出值，供程序对接的导出应保持关闭
+     */
+    private Boolean exportCsvFormulaGuard = false;
+    
+    /**
+     * 导出按主键范围分区并行读取的分区数，1为单连接顺序读取；实际值不超过数据库连接池max-active的一半
+     */
+    private Integer exportParallelism = 1;
+    
+    /**
+     * 分区导出时每个分区的行缓冲大小
+     */
+    private Integer exportPartitionBuffer = 1000;
+    
+    /**
+     * 是否缓存导出结果文件（按模板、查询条件与数据版本复用）
+     */
+    private Boolean exportCacheEnabled = true;
+    
+    /**
+     * 导出结果缓存总大小上限（MB），超出时按最近最少使用淘汰
+     */
+    private Long exportCacheMaxSize = 512L;
+    
+    /**
+     * 导入导出任务的内存预算（MB），0表示取最大堆的1/4
+     */
+    private Long memoryBudget = 0L;
+    
+    /**
+     * 同步请求在内存预算不足时排队等待的最长时间（毫秒），超时拒绝；异步任务不受此限制
+     */
+    private Long memoryBudgetWait = 30000L;
+    
+    /**
+     * 异步任务线程数
+     */
+    private Integer jobThreads = 2;
+    
+    /**
+     * 异步任务等待队列长度，队列满时拒绝提交
+     */
+    private Integer jobQueueCapacity = 16;
+    
+    /**
+     * 异步任务进度写回数据库的最小间隔（毫秒）
+     */
+    private Long jobProgressInterval = 1000L;
+    
+    /**
+     * 异步导出文件的保留时间（分钟），超过后由后台按excel.temp-file-clean-interval清理
+     */
+    private Long jobFileMaxAge = 1440L;
+    
+    /**
+     * 异步任务心跳间隔（毫秒），执行实例按此间隔刷新未完成任务的心跳时间
+     */
+    private Long jobHeartbeatInterval = 30000L;
+    
+    /**
+     * 异步任务租约时长（毫秒），未完成任务的心跳超过该时长未刷新视为所在实例已停止，任务标记为失败
+     */
+    private Long jobLeaseTimeout = 120000L;
 }
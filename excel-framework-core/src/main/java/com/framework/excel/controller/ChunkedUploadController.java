@@ -0,0 +1,115 @@
+package com.framework.excel.controller;
+
+import com.framework.excel.common.ChunkedUploadStatus;
+import com.framework.excel.common.Result;
+import com.framework.excel.service.ChunkedUploadService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * Excel分片上传控制器
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Api(tags = "Excel分片上传")
+@RestController
+@RequestMapping("/api/excel/uploads")
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService uploadService;
+
+    public ChunkedUploadController(ChunkedUploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+
+    /**
+     * 创建分片上传
+     *
+     * @param templateKey 模板Key
+     * @param fileName 原始文件名（按扩展名识别xlsx/csv）
+     * @param totalSize 文件总大小（字节）
+     * @param chunkSize 分片大小（字节），为空时使用默认值
+     * @return 上传状态
+     */
+    @ApiOperation("创建分片上传")
+    @PostMapping
+    public Result<ChunkedUploadStatus> initiate(@ApiParam("模板Key") @RequestParam String templateKey,
+                                                @ApiParam("原始文件名") @RequestParam String fileName,
+                                                @ApiParam("文件总大小（字节）") @RequestParam long totalSize,
+                                                @ApiParam("分片大小（字节）") @RequestParam(required = false) Long chunkSize) {
+        return Result.success(uploadService.initiate(templateKey, fileName, totalSize, chunkSize));
+    }
+
+    /**
+     * 上传分片，请求体为分片内容，重复上传同一分片时覆盖
+     *
+     * @param uploadId 上传ID
+     * @param index 分片序号（从0开始）
+     * @param checksum 分片内容的SHA-256（十六进制）
+     * @param request HTTP请求
+     * @return 上传状态
+     * @throws IOException 读取请求体失败
+     */
+    @ApiOperation("上传分片")
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Result<ChunkedUploadStatus> putChunk(@ApiParam("上传ID") @PathVariable String uploadId,
+                                                @ApiParam("分片序号") @PathVariable int index,
+                                                @ApiParam("分片SHA-256") @RequestHeader("X-Checksum-SHA256") String checksum,
+                                                HttpServletRequest request) throws IOException {
+        return Result.success(uploadService.putChunk(uploadId, index, request.getInputStream(), checksum));
+    }
+
+    /**
+     * 查询上传状态，用于断点续传
+     *
+     * @param uploadId 上传ID
+     * @return 上传状态
+     */
+    @ApiOperation("查询分片上传状态")
+    @GetMapping("/{uploadId}")
+    public Result<ChunkedUploadStatus> status(@ApiParam("上传ID") @PathVariable String uploadId) {
+        return Result.success(uploadService.status(uploadId));
+    }
+
+    /**
+     * 合并分片并提交异步导入任务，重复调用返回同一任务
+     *
+     * @param uploadId 上传ID
+     * @param request HTTP请求
+     * @return 上传状态，jobId为导入任务ID，可通过/api/excel/jobs/{jobId}查询进度
+     */
+    @ApiOperation("完成分片上传并提交导入任务")
+    @PostMapping("/{uploadId}/complete")
+    public Result<ChunkedUploadStatus> complete(@ApiParam("上传ID") @PathVariable String uploadId,
+                                                HttpServletRequest request) {
+        return Result.success(uploadService.complete(uploadId, ExcelJobController.operator(request)));
+    }
+
+    /**
+     * 放弃分片上传
+     *
+     * @param uploadId 上传ID
+     * @return 操作结果
+     */
+    @ApiOperation("放弃分片上传")
+    @DeleteMapping("/{uploadId}")
+    public Result<Void> abort(@ApiParam("上传ID") @PathVariable String uploadId) {
+        uploadService.abort(uploadId);
+        return Result.success();
+    }
+}
@@ -0,0 +1,208 @@
+package com.framework.excel.controller;
+
+import com.framework.excel.common.FileFormat;
+import com.framework.excel.common.ImportResult;
+import com.framework.excel.common.Result;
+import com.framework.excel.entity.ExcelOperationLog;
+import com.framework.excel.service.ExcelExportService;
+import com.framework.excel.service.ExcelImportService;
+import com.framework.excel.service.ExcelJobService;
+import com.framework.excel.service.OperationLogWriter;
+import com.framework.excel.util.ExcelResponseUtils;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+/**
+ * 动态Excel导入导出控制器
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Api(tags = "动态Excel导入导出")
+@RestController
+@RequestMapping("/api/excel")
+public class DynamicExcelController {
+
+    private final ExcelExportService exportService;
+
+    private final ExcelImportService importService;
+
+    private final OperationLogWriter operationLogWriter;
+
+    public DynamicExcelController(ExcelExportService exportService, ExcelImportService importService,
+                                  OperationLogWriter operationLogWriter) {
+        this.exportService = exportService;
+        this.importService = importService;
+        this.operationLogWriter = operationLogWriter;
+    }
+
+    /**
+     * 下载导入模板
+     *
+     * @param templateKey 模板Key
+     * @param request HTTP请求
+     * @param response HTTP响应
+     * @throws IOException 写出失败
+     */
+    @ApiOperation("下载导入模板")
+    @GetMapping("/template/{templateKey}")
+    public void downloadTemplate(@ApiParam("模板Key") @PathVariable String templateKey,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        long start = System.currentTimeMillis();
+        String fileName = templateKey + "-template.xlsx";
+        try {
+            byte[] bytes = exportService.templateBytes(templateKey);
+            ExcelResponseUtils.setDownloadHeaders(response, fileName, ExcelResponseUtils.XLSX_CONTENT_TYPE);
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+            record(request, ExcelJobService.OPERATION_TEMPLATE, templateKey, fileName, (long) bytes.length, null, start, null);
+        } catch (IOException | RuntimeException e) {
+            record(request, ExcelJobService.OPERATION_TEMPLATE, templateKey, fileName, null, null, start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 导入数据
+     *
+     * @param templateKey 模板Key
+     * @param file Excel文件（.xlsx或.csv，按扩展名识别）
+     * @param request HTTP请求
+     * @return 导入结果
+     */
+    @ApiOperation("导入数据")
+    @PostMapping("/import/{templateKey}")
+    public Result<ImportResult> importData(@ApiParam("模板Key") @PathVariable String templateKey,
+                                           @RequestParam("file") MultipartFile file,
+                                           HttpServletRequest request) {
+        long start = System.currentTimeMillis();
+        try {
+            ImportResult result = importService.importData(templateKey, file);
+            record(request, ExcelJobService.OPERATION_IMPORT, templateKey, file.getOriginalFilename(), file.getSize(),
+                    result, start, null);
+            return Result.success(result);
+        } catch (RuntimeException e) {
+            record(request, ExcelJobService.OPERATION_IMPORT, templateKey, file.getOriginalFilename(), file.getSize(),
+                    null, start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 以原始请求体导入数据，请求体不经multipart解析，直接流式落盘
+     *
+     * @param templateKey 模板Key
+     * @param fileName 原始文件名（按扩展名识别xlsx/csv）
+     * @param request HTTP请求，请求体为文件内容
+     * @return 导入结果
+     * @throws IOException 读取请求体失败
+     */
+    @ApiOperation("以原始请求体导入数据")
+    @PostMapping(value = "/import/{templateKey}/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Result<ImportResult> importStream(@ApiParam("模板Key") @PathVariable String templateKey,
+                                             @ApiParam("原始文件名") @RequestParam String fileName,
+                                             HttpServletRequest request) throws IOException {
+        long start = System.currentTimeMillis();
+        Long fileSize = request.getContentLengthLong() >= 0 ? request.getContentLengthLong() : null;
+        try {
+            ImportResult result = importService.importData(templateKey, request.getInputStream(), fileName);
+            record(request, ExcelJobService.OPERATION_IMPORT, templateKey, fileName, fileSize, result, start, null);
+            return Result.success(result);
+        } catch (IOException | RuntimeException e) {
+            record(request, ExcelJobService.OPERATION_IMPORT, templateKey, fileName, fileSize, null, start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 导出数据
+     * <p>
+     * 启用导出缓存时响应带ETag，请求携带匹配的If-None-Match时返回304；
+     * 相同模板、查询条件与数据版本的导出直接输出已缓存的文件。
+     *
+     * @param templateKey 模板Key
+     * @param params 查询条件
+     * @param format 文件格式
+     * @param request HTTP请求
+     * @param response HTTP响应
+     * @throws IOException 写出失败
+     */
+    @ApiOperation("导出数据")
+    @PostMapping("/export/{templateKey}")
+    public void exportData(@ApiParam("模板Key") @PathVariable String templateKey,
+                           @RequestBody(required = false) Map<String, Object> params,
+                           @ApiParam("文件格式：XLSX/CSV/NDJSON") @RequestParam(defaultValue = "XLSX") FileFormat format,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        long start = System.currentTimeMillis();
+        String fileName = templateKey + format.getExtension();
+        try {
+            String cacheKey = exportService.cacheKey(templateKey, params, format);
+            if (cacheKey == null) {
+                ExcelResponseUtils.setDownloadHeaders(response, fileName, format.getContentType());
+                exportService.export(templateKey, params, response.getOutputStream(), format);
+                record(request, ExcelJobService.OPERATION_EXPORT, templateKey, fileName, null, null, start, null);
+                return;
+            }
+            if (ExcelResponseUtils.checkNotModified(request, response, cacheKey)) {
+                return;
+            }
+            long size;
+            try (FileChannel channel = exportService.exportCached(templateKey, params, format, cacheKey)) {
+                size = channel.size();
+                ExcelResponseUtils.setDownloadHeaders(response, fileName, format.getContentType());
+                response.setContentLengthLong(size);
+                StreamUtils.copy(Channels.newInputStream(channel), response.getOutputStream());
+            }
+            record(request, ExcelJobService.OPERATION_EXPORT, templateKey, fileName, size, null, start, null);
+        } catch (IOException | RuntimeException e) {
+            record(request, ExcelJobService.OPERATION_EXPORT, templateKey, fileName, null, null, start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 异步记录同步操作的日志，304等未实际传输文件的请求不记录
+     */
+    private void record(HttpServletRequest request, String operationType, String templateKey, String fileName,
+                        Long fileSize, ImportResult result, long start, Exception failure) {
+        ExcelOperationLog log = ExcelJobController.operator(request);
+        log.setOperationType(operationType);
+        log.setTemplateKey(templateKey);
+        log.setFileName(fileName);
+        log.setFileSize(fileSize);
+        log.setCostTime(System.currentTimeMillis() - start);
+        if (failure != null) {
+            log.setStatus(ExcelOperationLog.STATUS_FAILED);
+            log.setErrorMessage(failure.getMessage());
+        } else if (result != null) {
+            log.setRecordCount(result.getTotalCount());
+            log.setSuccessCount(result.getSuccessCount());
+            log.setFailCount(result.getFailCount());
+            log.setStatus(result.getFailCount() == 0 ? ExcelOperationLog.STATUS_SUCCESS
+                    : result.getSuccessCount() == 0 ? ExcelOperationLog.STATUS_FAILED : ExcelOperationLog.STATUS_PARTIAL);
+        } else {
+            log.setStatus(ExcelOperationLog.STATUS_SUCCESS);
+        }
+        operationLogWriter.record(log);
+    }
+}
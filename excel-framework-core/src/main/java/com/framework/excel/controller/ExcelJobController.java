@@ -0,0 +1,183 @@
+package com.framework.excel.controller;
+
+import com.framework.excel.common.FileFormat;
+import com.framework.excel.common.PageResult;
+import com.framework.excel.common.Result;
+import com.framework.excel.entity.ExcelOperationLog;
+import com.framework.excel.service.ExcelJobService;
+import com.framework.excel.util.ExcelResponseUtils;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Excel异步任务控制器
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Api(tags = "Excel异步任务")
+@RestController
+@RequestMapping("/api/excel/jobs")
+public class ExcelJobController {
+
+    private final ExcelJobService jobService;
+
+    public ExcelJobController(ExcelJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * 提交异步导入任务
+     *
+     * @param templateKey 模板Key
+     * @param file Excel文件
+     * @param request HTTP请求
+     * @return 任务ID
+     */
+    @ApiOperation("提交异步导入任务")
+    @PostMapping("/import/{templateKey}")
+    public Result<Long> submitImport(@ApiParam("模板Key") @PathVariable String templateKey,
+                                     @RequestParam("file") MultipartFile file,
+                                     HttpServletRequest request) {
+        return Result.success(jobService.submitImport(templateKey, file, operator(request)));
+    }
+
+    /**
+     * 以原始请求体提交异步导入任务，请求体不经multipart解析，直接流式落盘
+     *
+     * @param templateKey 模板Key
+     * @param fileName 原始文件名（按扩展名识别xlsx/csv）
+     * @param request HTTP请求，请求体为文件内容
+     * @return 任务ID
+     * @throws IOException 读取请求体失败
+     */
+    @ApiOperation("以原始请求体提交异步导入任务")
+    @PostMapping(value = "/import/{templateKey}/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Result<Long> submitImportStream(@ApiParam("模板Key") @PathVariable String templateKey,
+                                           @ApiParam("原始文件名") @RequestParam String fileName,
+                                           HttpServletRequest request) throws IOException {
+        return Result.success(jobService.submitImport(templateKey, request.getInputStream(), fileName,
+                operator(request)));
+    }
+
+    /**
+     * 提交异步导出任务
+     *
+     * @param templateKey 模板Key
+     * @param params 查询条件
+     * @param format 文件格式
+     * @param request HTTP请求
+     * @return 任务ID
+     */
+    @ApiOperation("提交异步导出任务")
+    @PostMapping("/export/{templateKey}")
+    public Result<Long> submitExport(@ApiParam("模板Key") @PathVariable String templateKey,
+                                     @RequestBody(required = false) Map<String, Object> params,
+                                     @ApiParam("文件格式：XLSX/CSV/NDJSON") @RequestParam(defaultValue = "XLSX") FileFormat format,
+                                     HttpServletRequest request) {
+        return Result.success(jobService.submitExport(templateKey, params, format, operator(request)));
+    }
+
+    /**
+     * 分页查询任务（键集分页）
+     *
+     * @param params 查询条件
+     * @param cursor 上一页返回的nextCursor，为空时查询第一页
+     * @param pageSize 每页大小
+     * @return 分页结果
+     */
+    @ApiOperation("分页查询任务")
+    @GetMapping
+    public Result<PageResult<ExcelOperationLog>> listJobs(@RequestParam Map<String, Object> params,
+                                                          @ApiParam("分页游标") @RequestParam(required = false) String cursor,
+                                                          @ApiParam("每页大小") @RequestParam(defaultValue = "20") int pageSize) {
+        params.remove("cursor");
+        params.remove("pageSize");
+        if (pageSize < 1 || pageSize > 500) {
+            return Result.paramError("pageSize应在1-500之间");
+        }
+        return Result.success(jobService.listJobs(params, cursor, pageSize));
+    }
+
+    /**
+     * 按页码分页查询任务
+     *
+     * @param params 查询条件
+     * @param pageNum 页码
+     * @param pageSize 每页大小
+     * @param totalType 总数模式：EXACT、CACHED、ABSENT
+     * @return 分页结果
+     */
+    @ApiOperation("按页码分页查询任务")
+    @GetMapping("/page")
+    public Result<PageResult<ExcelOperationLog>> pageJobs(@RequestParam Map<String, Object> params,
+                                                          @ApiParam("页码") @RequestParam(defaultValue = "1") int pageNum,
+                                                          @ApiParam("每页大小") @RequestParam(defaultValue = "20") int pageSize,
+                                                          @ApiParam("总数模式：EXACT/CACHED/ABSENT")
+                                                          @RequestParam(defaultValue = "EXACT") PageResult.TotalType totalType) {
+        params.remove("pageNum");
+        params.remove("pageSize");
+        params.remove("totalType");
+        if (pageSize < 1 || pageSize > 500) {
+            return Result.paramError("pageSize应在1-500之间");
+        }
+        return Result.success(jobService.pageJobs(params, pageNum, pageSize, totalType));
+    }
+
+    /**
+     * 查询任务状态
+     *
+     * @param id 任务ID
+     * @return 任务状态
+     */
+    @ApiOperation("查询任务状态")
+    @GetMapping("/{id}")
+    public Result<ExcelOperationLog> getJob(@ApiParam("任务ID") @PathVariable Long id) {
+        return Result.success(jobService.getJob(id));
+    }
+
+    /**
+     * 下载导出任务生成的文件
+     *
+     * @param id 任务ID
+     * @param response HTTP响应
+     * @throws IOException 写出失败
+     */
+    @ApiOperation("下载导出文件")
+    @GetMapping("/{id}/file")
+    public void downloadFile(@ApiParam("任务ID") @PathVariable Long id,
+                             HttpServletResponse response) throws IOException {
+        File file = jobService.getExportFile(id);
+        ExcelOperationLog job = jobService.getJob(id);
+        ExcelResponseUtils.setDownloadHeaders(response, job.getFileName(),
+                FileFormat.fromFileName(job.getFileName()).getContentType());
+        response.setContentLengthLong(file.length());
+        Files.copy(file.toPath(), response.getOutputStream());
+    }
+
+    static ExcelOperationLog operator(HttpServletRequest request) {
+        ExcelOperationLog operator = new ExcelOperationLog();
+        operator.setOperator(request.getRemoteUser());
+        operator.setIpAddress(request.getRemoteAddr());
+        operator.setUserAgent(request.getHeader(HttpHeaders.USER_AGENT));
+        return operator;
+    }
+}
@@ -70,6 +70,21 @@ public class ExcelFieldConfig extends BaseEntity {
      */
     private Integer sort;
     
+    /**
+     * 列宽
+     */
+    private Integer width;
+    
+    /**
+     * 日期格式
+     */
+    private String dateFormat;
+    
+    /**
+     * 数字格式
+     */
+    private String numberFormat;
+    
     // Getters and setters
     public Long getId() {
         return id;
@@ -166,4 +181,28 @@ public class ExcelFieldConfig extends BaseEntity {
     public void setSort(Integer sort) {
         this.sort = sort;
     }
+    
+    public Integer getWidth() {
+        return width;
+    }
+    
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+    
+    public String getDateFormat() {
+        return dateFormat;
+    }
+    
+    public void setDateFormat(String dateFormat) {
+        this.dateFormat = dateFormat;
+    }
+    
+    public String getNumberFormat() {
+        return numberFormat;
+    }
+    
+    public void setNumberFormat(String numberFormat) {
+        this.numberFormat = numberFormat;
+    }
 }
@@ -12,6 +12,31 @@ public class ExcelOperationLog extends BaseEntity {
     
     private static final long serialVersionUID = 1L;
     
+    /**
+     * 状态：处理中
+     */
+    public static final int STATUS_RUNNING = 0;
+    
+    /**
+     * 状态：成功
+     */
+    public static final int STATUS_SUCCESS = 1;
+    
+    /**
+     * 状态：失败
+     */
+    public static final int STATUS_FAILED = 2;
+    
+    /**
+     * 状态：部分成功
+     */
+    public static final int STATUS_PARTIAL = 3;
+    
+    /**
+     * 状态：排队中
+     */
+    public static final int STATUS_QUEUED = 4;
+    
     /**
      * 日志ID
      */
@@ -77,6 +102,41 @@ public class ExcelOperationLog extends BaseEntity {
      */
     private Long duration;
     
+    /**
+     * 文件大小（字节）
+     */
+    private Long fileSize;
+    
+    /**
+     * 记录数量
+     */
+    private Integer recordCount;
+    
+    /**
+     * 耗时（毫秒）
+     */
+    private Long costTime;
+    
+    /**
+     * IP地址
+     */
+    private String ipAddress;
+    
+    /**
+     * User Agent
+     */
+    private String userAgent;
+    
+    /**
+     * 状态 0:处理中 1:成功 2:失败 3:部分成功 4:排队中
+     */
+    private Integer status;
+    
+    /**
+     * 执行异步任务的应用实例
+     */
+    private String instanceId;
+    
     // Getters and setters
     public Long getId() {
         return id;
@@ -181,4 +241,60 @@ public class ExcelOperationLog extends BaseEntity {
     public void setDuration(Long duration) {
         this.duration = duration;
     }
+    
+    public Long getFileSize() {
+        return fileSize;
+    }
+    
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+    
+    public Integer getRecordCount() {
+        return recordCount;
+    }
+    
+    public void setRecordCount(Integer recordCount) {
+        this.recordCount = recordCount;
+    }
+    
+    public Long getCostTime() {
+        return costTime;
+    }
+    
+    public void setCostTime(Long costTime) {
+        this.costTime = costTime;
+    }
+    
+    public String getIpAddress() {
+        return ipAddress;
+    }
+    
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+    
+    public String getUserAgent() {
+        return userAgent;
+    }
+    
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
+    
+    public Integer getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+    
+    public String getInstanceId() {
+        return instanceId;
+    }
+    
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
 }
@@ -55,6 +55,21 @@ public class ExcelTemplateConfig extends BaseEntity {
      */
     private Integer status;
     
+    /**
+     * 主键字段JSON数组
+     */
+    private String primaryKeyFields;
+    
+    /**
+     * 更新模式
+     */
+    private String updateMode;
+    
+    /**
+     * 是否启用
+     */
+    private Boolean enabled;
+    
     // Getters and setters
     public Long getId() {
         return id;
@@ -127,4 +142,28 @@ public class ExcelTemplateConfig extends BaseEntity {
     public void setStatus(Integer status) {
         this.status = status;
     }
+    
+    public String getPrimaryKeyFields() {
+        return primaryKeyFields;
+    }
+    
+    public void setPrimaryKeyFields(String primaryKeyFields) {
+        this.primaryKeyFields = primaryKeyFields;
+    }
+    
+    public String getUpdateMode() {
+        return updateMode;
+    }
+    
+    public void setUpdateMode(String updateMode) {
+        this.updateMode = updateMode;
+    }
+    
+    public Boolean getEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
 }
@@ -50,6 +50,26 @@ public class Fault extends BaseEntity {
      */
     private Integer status;
     
+    /**
+     * 功能ID
+     */
+    private Long functionId;
+    
+    /**
+     * 系统元素ID
+     */
+    private Long systemElementId;
+    
+    /**
+     * 严重级别：1-低，2-中，3-高，4-紧急
+     */
+    private Integer severityLevel;
+    
+    /**
+     * 解决方案
+     */
+    private String solution;
+    
     // Getters and setters
     public Long getId() {
         return id;
@@ -114,4 +134,36 @@ public class Fault extends BaseEntity {
     public void setStatus(Integer status) {
         this.status = status;
     }
+    
+    public Long getFunctionId() {
+        return functionId;
+    }
+    
+    public void setFunctionId(Long functionId) {
+        this.functionId = functionId;
+    }
+    
+    public Long getSystemElementId() {
+        return systemElementId;
+    }
+    
+    public void setSystemElementId(Long systemElementId) {
+        this.systemElementId = systemElementId;
+    }
+    
+    public Integer getSeverityLevel() {
+        return severityLevel;
+    }
+    
+    public void setSeverityLevel(Integer severityLevel) {
+        this.severityLevel = severityLevel;
+    }
+    
+    public String getSolution() {
+        return solution;
+    }
+    
+    public void setSolution(String solution) {
+        this.solution = solution;
+    }
 }
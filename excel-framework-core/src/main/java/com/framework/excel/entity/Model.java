@@ -60,6 +60,41 @@ public class Model extends BaseEntity {
      */
     private Integer status;
     
+    /**
+     * 模型版本
+     */
+    private String version;
+    
+    /**
+     * 模型类型
+     */
+    private String modelType;
+    
+    /**
+     * 模型文件路径
+     */
+    private String filePath;
+    
+    /**
+     * 文件大小（字节）
+     */
+    private Long fileSize;
+    
+    /**
+     * 文件校验和
+     */
+    private String checksum;
+    
+    /**
+     * 标签JSON数组
+     */
+    private String tags;
+    
+    /**
+     * 元数据JSON
+     */
+    private String metadata;
+    
     // Getters and setters
     public Long getId() {
         return id;
@@ -140,4 +175,60 @@ public class Model extends BaseEntity {
     public void setStatus(Integer status) {
         this.status = status;
     }
+    
+    public String getVersion() {
+        return version;
+    }
+    
+    public void setVersion(String version) {
+        this.version = version;
+    }
+    
+    public String getModelType() {
+        return modelType;
+    }
+    
+    public void setModelType(String modelType) {
+        this.modelType = modelType;
+    }
+    
+    public String getFilePath() {
+        return filePath;
+    }
+    
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+    
+    public Long getFileSize() {
+        return fileSize;
+    }
+    
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+    
+    public String getChecksum() {
+        return checksum;
+    }
+    
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+    
+    public String getTags() {
+        return tags;
+    }
+    
+    public void setTags(String tags) {
+        this.tags = tags;
+    }
+    
+    public String getMetadata() {
+        return metadata;
+    }
+    
+    public void setMetadata(String metadata) {
+        this.metadata = metadata;
+    }
 }
@@ -0,0 +1,79 @@
+package com.framework.excel.mapper;
+
+import com.example.excel.provider.DropdownOption;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 动态表查询Mapper接口
+ * <p>
+ * 表名、列名以${}拼接，调用方必须先经{@link com.framework.excel.util.SqlIdentifiers}校验。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Mapper
+public interface ExcelDynamicMapper {
+    
+    /**
+     * 查询下拉选项
+     *
+     * @param tableName 表名
+     * @param valueColumn 值列
+     * @param displayColumn 显示列
+     * @param whereClause 过滤条件（来自模板配置）
+     * @return 下拉选项列表
+     */
+    List<DropdownOption> selectOptions(@Param("tableName") String tableName,
+                                       @Param("valueColumn") String valueColumn,
+                                       @Param("displayColumn") String displayColumn,
+                                       @Param("whereClause") String whereClause);
+    
+    /**
+     * 查询存在的ID
+     *
+     * @param tableName 表名
+     * @param idColumn ID列
+     * @param ids 待校验的ID
+     * @return 表中存在的ID
+     */
+    List<Long> selectExistingIds(@Param("tableName") String tableName,
+                                 @Param("idColumn") String idColumn,
+                                 @Param("ids") Collection<Long> ids);
+    
+    /**
+     * 按（复合）业务键查询已存在的记录
+     *
+     * @param tableName 表名
+     * @param idColumn 主键列，以别名id返回
+     * @param keyColumns 业务键列
+     * @param keys 待查询的键元组，元素顺序与keyColumns一致
+     * @return 已存在记录的主键与业务键列
+     */
+    List<Map<String, Object>> selectExistingKeys(@Param("tableName") String tableName,
+                                                 @Param("idColumn") String idColumn,
+                                                 @Param("keyColumns") List<String> keyColumns,
+                                                 @Param("keys") Collection<List<Object>> keys);
+    
+    /**
+     * 查询主键范围
+     *
+     * @param tableName 表名
+     * @param idColumn 主键列
+     * @return minId与maxId，空表时为null
+     */
+    Map<String, Object> selectIdRange(@Param("tableName") String tableName, @Param("idColumn") String idColumn);
+    
+    /**
+     * 查询表数据版本，用于导出缓存判断数据是否变化
+     *
+     * @param tableName 表名（需包含update_time列）
+     * @param idColumn 主键列
+     * @return rowCount、maxId与maxUpdateTime
+     */
+    Map<String, Object> selectDataVersion(@Param("tableName") String tableName, @Param("idColumn") String idColumn);
+}
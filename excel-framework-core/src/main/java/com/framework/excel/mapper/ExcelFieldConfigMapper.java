@@ -75,6 +75,16 @@ public interface ExcelFieldConfigMapper {
                             @Param("fieldNames") List<String> fieldNames, 
                             @Param("visible") Boolean visible);
     
+    /**
+     * 删除列后将其后的列索引前移一位
+     *
+     * @param templateId 模板ID
+     * @param deletedColumnIndex 被删除的列索引
+     * @return 影响行数
+     */
+    int adjustColumnIndex(@Param("templateId") Long templateId,
+                          @Param("deletedColumnIndex") Integer deletedColumnIndex);
+    
     /**
      * 删除字段配置
      *
@@ -32,6 +32,30 @@ public interface ExcelOperationLogMapper {
      */
     List<ExcelOperationLog> selectList(Map<String, Object> params);
     
+    /**
+     * 分页查询操作日志
+     *
+     * @param params 查询参数，含offset与limit
+     * @return 操作日志
+     */
+    List<ExcelOperationLog> selectByPage(Map<String, Object> params);
+    
+    /**
+     * 按条件统计操作日志总数
+     *
+     * @param params 查询参数
+     * @return 总数
+     */
+    long countByCondition(Map<String, Object> params);
+    
+    /**
+     * 键集分页查询操作日志，按(create_time, id)降序排序
+     *
+     * @param params 查询参数，含PageCursor.apply写入的游标与limit
+     * @return 操作日志，最多limit行
+     */
+    List<ExcelOperationLog> selectBySeek(Map<String, Object> params);
+    
     /**
      * 插入操作日志
      *
@@ -40,6 +64,14 @@ public interface ExcelOperationLogMapper {
      */
     int insert(ExcelOperationLog excelOperationLog);
     
+    /**
+     * 批量插入操作日志，create_time为空时取当前时间
+     *
+     * @param list 操作日志列表
+     * @return 影响行数
+     */
+    int insertBatch(List<ExcelOperationLog> list);
+    
     /**
      * 更新操作日志
      *
@@ -48,6 +80,27 @@ public interface ExcelOperationLogMapper {
      */
     int update(ExcelOperationLog excelOperationLog);
     
+    /**
+     * 刷新实例名下指定状态任务的心跳时间
+     *
+     * @param instanceId 实例ID
+     * @param statuses 未完成的状态
+     * @return 影响行数
+     */
+    int touchByInstance(@Param("instanceId") String instanceId, @Param("statuses") List<Integer> statuses);
+    
+    /**
+     * 将心跳已超过租约的指定状态任务标记为失败
+     *
+     * @param statuses 待回收的状态
+     * @param leaseSeconds 租约时长（秒）
+     * @param failedStatus 失败状态
+     * @param errorMessage 失败原因
+     * @return 影响行数
+     */
+    int failExpired(@Param("statuses") List<Integer> statuses, @Param("leaseSeconds") long leaseSeconds,
+                    @Param("failedStatus") Integer failedStatus, @Param("errorMessage") String errorMessage);
+    
     /**
      * 删除操作日志
      *
@@ -32,6 +32,30 @@ public interface FaultClassificationMapper {
      */
     List<FaultClassification> selectList(Map<String, Object> params);
     
+    /**
+     * 分页查询故障分类列表
+     *
+     * @param params 查询参数，含offset与limit
+     * @return 故障分类列表
+     */
+    List<FaultClassification> selectByPage(Map<String, Object> params);
+    
+    /**
+     * 按条件统计故障分类列表总数
+     *
+     * @param params 查询参数
+     * @return 总数
+     */
+    long countByCondition(Map<String, Object> params);
+    
+    /**
+     * 键集分页查询故障分类列表，按id升序排序
+     *
+     * @param params 查询参数，含PageCursor.apply写入的游标与limit
+     * @return 故障分类列表，最多limit行
+     */
+    List<FaultClassification> selectBySeek(Map<String, Object> params);
+    
     /**
      * 查询所有启用的故障分类
      *
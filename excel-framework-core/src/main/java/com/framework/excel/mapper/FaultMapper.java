@@ -3,6 +3,7 @@ package com.framework.excel.mapper;
 import com.framework.excel.entity.Fault;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 import java.util.Map;
@@ -40,6 +41,54 @@ public interface FaultMapper {
      */
     List<Fault> selectList(Map<String, Object> params);
     
+    /**
+     * 流式查询故障列表（导出用，需在SqlSession关闭前遍历完毕）
+     *
+     * @param params 查询参数
+     * @return 游标
+     */
+    Cursor<Fault> selectCursor(Map<String, Object> params);
+    
+    /**
+     * 分页查询故障列表
+     *
+     * @param params 查询参数，含offset与limit
+     * @return 故障列表
+     */
+    List<Fault> selectByPage(Map<String, Object> params);
+    
+    /**
+     * 分页查询故障列表（包含分类信息）
+     *
+     * @param params 查询参数，含offset与limit
+     * @return 故障列表
+     */
+    List<Fault> selectWithClassificationByPage(Map<String, Object> params);
+    
+    /**
+     * 按条件统计故障列表总数
+     *
+     * @param params 查询参数
+     * @return 总数
+     */
+    long countByCondition(Map<String, Object> params);
+    
+    /**
+     * 键集分页查询故障列表，按(create_time, id)降序排序
+     *
+     * @param params 查询参数，含PageCursor.apply写入的游标与limit
+     * @return 故障列表，最多limit行
+     */
+    List<Fault> selectBySeek(Map<String, Object> params);
+    
+    /**
+     * 键集分页查询故障列表（包含分类信息），按(create_time, id)降序排序
+     *
+     * @param params 查询参数，含PageCursor.apply写入的游标与limit
+     * @return 故障列表（包含分类信息），最多limit行
+     */
+    List<Fault> selectWithClassificationBySeek(Map<String, Object> params);
+    
     /**
      * 插入故障信息
      *
@@ -72,6 +121,14 @@ public interface FaultMapper {
      */
     int updateByCode(Fault fault);
     
+    /**
+     * 根据编码插入或更新故障信息（ON DUPLICATE KEY UPDATE）
+     *
+     * @param fault 故障信息
+     * @return 影响行数
+     */
+    int insertOrUpdateByCode(Fault fault);
+    
     /**
      * 删除故障信息
      *
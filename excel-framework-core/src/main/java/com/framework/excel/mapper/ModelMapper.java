@@ -3,6 +3,7 @@ package com.framework.excel.mapper;
 import com.framework.excel.entity.Model;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 import java.util.Map;
@@ -40,6 +41,54 @@ public interface ModelMapper {
      */
     List<Model> selectList(Map<String, Object> params);
     
+    /**
+     * 流式查询模型列表（导出用，需在SqlSession关闭前遍历完毕）
+     *
+     * @param params 查询参数
+     * @return 游标
+     */
+    Cursor<Model> selectCursor(Map<String, Object> params);
+    
+    /**
+     * 分页查询模型列表
+     *
+     * @param params 查询参数，含offset与limit
+     * @return 模型列表
+     */
+    List<Model> selectByPage(Map<String, Object> params);
+    
+    /**
+     * 分页查询模型列表（包含分类信息）
+     *
+     * @param params 查询参数，含offset与limit
+     * @return 模型列表
+     */
+    List<Model> selectWithCategoryByPage(Map<String, Object> params);
+    
+    /**
+     * 按条件统计模型列表总数
+     *
+     * @param params 查询参数
+     * @return 总数
+     */
+    long countByCondition(Map<String, Object> params);
+    
+    /**
+     * 键集分页查询模型列表，按(create_time, id)降序排序
+     *
+     * @param params 查询参数，含PageCursor.apply写入的游标与limit
+     * @return 模型列表，最多limit行
+     */
+    List<Model> selectBySeek(Map<String, Object> params);
+    
+    /**
+     * 键集分页查询模型列表（包含分类信息），按(create_time, id)降序排序
+     *
+     * @param params 查询参数，含PageCursor.apply写入的游标与limit
+     * @return 模型列表（包含分类信息），最多limit行
+     */
+    List<Model> selectWithCategoryBySeek(Map<String, Object> params);
+    
     /**
      * 插入模型信息
      *
@@ -72,6 +121,14 @@ public interface ModelMapper {
      */
     int updateByCode(Model model);
     
+    /**
+     * 根据编码插入或更新模型信息（ON DUPLICATE KEY UPDATE）
+     *
+     * @param model 模型信息
+     * @return 影响行数
+     */
+    int insertOrUpdateByCode(Model model);
+    
     /**
      * 删除模型信息
      *
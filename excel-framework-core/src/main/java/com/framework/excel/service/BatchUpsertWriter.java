@@ -0,0 +1,194 @@
+package com.framework.excel.service;
+
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.exception.ExcelException;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 分块批量写入器
+ * <p>
+ * 每个分块（含插入与更新语句）在独立的Spring事务（REQUIRES_NEW）中以BATCH执行器SqlSession写入，
+ * 配合JDBC参数rewriteBatchedStatements=true由驱动改写为多值INSERT，一个分块只需一次网络往返。
+ * 分块失败时整体回滚，再逐行（每行一个事务）重试以定位失败行，不影响其他分块。
+ * <p>
+ * 事务必须由事务管理器开启：mybatis-spring的SpringManagedTransaction忽略openSession的autoCommit参数，
+ * 连接池连接默认自动提交，仅靠SqlSession.commit/rollback无法回滚已执行的语句。
+ * <p>
+ * 死锁（1213）与锁等待超时（1205）不是数据错误：回滚后按excel.import-deadlock-retries有限次重试整个分块，
+ * 每次按指数退避加随机抖动等待，避免冲突双方同时重试再次相撞；重试耗尽后才进入逐行定位。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class BatchUpsertWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchUpsertWriter.class);
+
+    /**
+     * MySQL死锁错误码
+     */
+    private static final int ER_LOCK_DEADLOCK = 1213;
+
+    /**
+     * MySQL锁等待超时错误码
+     */
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int deadlockRetries;
+
+    private final long deadlockBackoff;
+
+    public BatchUpsertWriter(SqlSessionFactory sqlSessionFactory, PlatformTransactionManager transactionManager,
+                             ExcelConfig excelConfig) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.deadlockRetries = Math.max(0, excelConfig.getImportDeadlockRetries());
+        this.deadlockBackoff = Math.max(1L, excelConfig.getImportDeadlockBackoff());
+    }
+
+    /**
+     * 以单条语句写入一个分块
+     *
+     * @param statement 语句全限定ID
+     * @param chunk 分块数据
+     * @return 分块写入结果
+     */
+    public ChunkResult write(String statement, List<ImportRow> chunk) {
+        return write(Collections.singletonMap(statement, chunk));
+    }
+
+    /**
+     * 在同一事务内写入一个分块，分块可由多条语句组成（如插入与更新），按迭代顺序执行
+     *
+     * @param parts 语句全限定ID -> 该语句写入的行
+     * @return 分块写入结果
+     */
+    public ChunkResult write(Map<String, List<ImportRow>> parts) {
+        int size = 0;
+        int first = Integer.MAX_VALUE;
+        int last = 0;
+        for (List<ImportRow> rows : parts.values()) {
+            size += rows.size();
+            for (ImportRow row : rows) {
+                first = Math.min(first, row.getRowNum());
+                last = Math.max(last, row.getRowNum());
+            }
+        }
+        if (size == 0) {
+            return new ChunkResult();
+        }
+        for (int attempt = 0; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> execute(ExecutorType.BATCH, parts));
+                ChunkResult result = new ChunkResult();
+                result.addSuccess(size);
+                return result;
+            } catch (PersistenceException | TransactionException e) {
+                if (isLockConflict(e) && attempt < deadlockRetries) {
+                    logger.warn("分块写入锁冲突，第{}-{}行回滚后第{}次重试: {}", first, last, attempt + 1,
+                            ExceptionUtils.getRootCauseMessage(e));
+                } else {
+                    logger.warn("分块写入失败，第{}-{}行回滚后逐行重试: {}", first, last,
+                            ExceptionUtils.getRootCauseMessage(e));
+                    break;
+                }
+            }
+            backoff(attempt);
+        }
+        return writeRowByRow(parts);
+    }
+
+    /**
+     * 逐行写入，每行单独一个事务，用于定位失败分块中的错误行
+     */
+    private ChunkResult writeRowByRow(Map<String, List<ImportRow>> parts) {
+        ChunkResult result = new ChunkResult();
+        for (Map.Entry<String, List<ImportRow>> part : parts.entrySet()) {
+            for (ImportRow row : part.getValue()) {
+                Map<String, List<ImportRow>> single = Collections.singletonMap(part.getKey(),
+                        Collections.singletonList(row));
+                for (int attempt = 0; ; attempt++) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> execute(ExecutorType.SIMPLE, single));
+                        result.addSuccess(1);
+                        break;
+                    } catch (PersistenceException | TransactionException e) {
+                        if (!isLockConflict(e) || attempt >= deadlockRetries) {
+                            result.addError(row.getRowNum(), ExceptionUtils.getRootCauseMessage(e));
+                            break;
+                        }
+                    }
+                    backoff(attempt);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 在当前事务中执行语句；会话经Spring事务同步取得事务连接，提交与回滚由事务模板完成，
+     * 会话自身的commit/rollback对托管连接无效
+     */
+    private void execute(ExecutorType executorType, Map<String, List<ImportRow>> parts) {
+        try (SqlSession session = sqlSessionFactory.openSession(executorType)) {
+            for (Map.Entry<String, List<ImportRow>> part : parts.entrySet()) {
+                for (ImportRow row : part.getValue()) {
+                    session.update(part.getKey(), row.getEntity());
+                }
+            }
+            session.flushStatements();
+        }
+    }
+
+    /**
+     * 等待[base*2^attempt/2, base*2^attempt]内的随机时长
+     */
+    private void backoff(int attempt) {
+        long ceiling = deadlockBackoff << Math.min(attempt, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelException("导入重试等待被中断", e);
+        }
+    }
+
+    /**
+     * 是否为死锁或锁等待超时
+     */
+    private static boolean isLockConflict(Throwable e) {
+        for (Throwable cause : ExceptionUtils.getThrowableList(e)) {
+            if (cause instanceof SQLException) {
+                SQLException sql = (SQLException) cause;
+                if (sql.getErrorCode() == ER_LOCK_DEADLOCK || sql.getErrorCode() == ER_LOCK_WAIT_TIMEOUT
+                        || "40001".equals(sql.getSQLState())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
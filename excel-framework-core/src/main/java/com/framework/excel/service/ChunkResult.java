@@ -0,0 +1,49 @@
+package com.framework.excel.service;
+
+import com.framework.excel.common.ImportError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个分块的写入结果
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class ChunkResult {
+
+    private int successCount;
+
+    private int skipCount;
+
+    private final List<ImportError> errors = new ArrayList<>();
+
+    public void addSuccess(int count) {
+        successCount += count;
+    }
+
+    public void addSkip(int count) {
+        skipCount += count;
+    }
+
+    public void addError(int rowNum, String message) {
+        errors.add(new ImportError(rowNum, null, message));
+    }
+
+    public void addError(int rowNum, String columnName, String message) {
+        errors.add(new ImportError(rowNum, columnName, message));
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public int getSkipCount() {
+        return skipCount;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,444 @@
+package com.framework.excel.service;
+
+import com.framework.excel.common.ChunkedUploadStatus;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.entity.ExcelOperationLog;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.util.Digests;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 分片上传服务
+ * <p>
+ * 协议：initiate声明文件大小与分片大小 -> 按序号PUT各分片（附SHA-256校验和，顺序任意） -> complete。
+ * 每个分片先写入临时文件，校验大小与校验和后原子重命名为{序号}.part，重复上传同一分片只是覆盖，
+ * 失败重试只需重传该分片；查询状态可得到已接收的分片，用于断点续传。
+ * complete时以FileChannel.transferTo按序拼接到上传临时文件，提交为异步导入任务并返回任务ID，
+ * 分片保留到导入成功为止，导入失败时重新complete即可，无需重传。
+ * 会话保存在内存中，超过excel.temp-file-max-age分钟未活动即过期；启动时清理上次运行遗留的分片目录。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    /**
+     * 最小分片大小，最后一片除外
+     */
+    private static final long MIN_CHUNK_SIZE = 64L * 1024;
+
+    /**
+     * 单次transferFrom的最大字节数
+     */
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final ExcelJobService jobService;
+
+    private final ExcelTemplateConfigService templateConfigService;
+
+    private final UploadTempFiles uploadTempFiles;
+
+    private final Path directory;
+
+    private final long defaultChunkSize;
+
+    private final long expireMillis;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(ExcelJobService jobService,
+                                ExcelTemplateConfigService templateConfigService,
+                                UploadTempFiles uploadTempFiles,
+                                ExcelConfig excelConfig) {
+        this.jobService = jobService;
+        this.templateConfigService = templateConfigService;
+        this.uploadTempFiles = uploadTempFiles;
+        this.directory = Paths.get(excelConfig.getTempDir(), "uploads");
+        this.defaultChunkSize = excelConfig.getUploadChunkSize() * 1024 * 1024;
+        this.expireMillis = excelConfig.getTempFileMaxAge() * 60 * 1000;
+        deleteDirectory(directory);
+    }
+
+    /**
+     * 创建分片上传会话
+     *
+     * @param templateKey 模板Key
+     * @param fileName 原始文件名（按扩展名识别xlsx/csv）
+     * @param totalSize 文件总大小（字节）
+     * @param chunkSize 分片大小（字节），为空时使用excel.upload-chunk-size
+     * @return 上传状态
+     */
+    public ChunkedUploadStatus initiate(String templateKey, String fileName, long totalSize, Long chunkSize) {
+        sweep();
+        templateConfigService.getTemplate(templateKey);
+        if (StringUtils.isBlank(fileName)) {
+            throw new ExcelException(400, "文件名不能为空");
+        }
+        if (totalSize <= 0) {
+            throw new ExcelException(400, "文件大小必须大于0");
+        }
+        if (totalSize > uploadTempFiles.getMaxUploadBytes()) {
+            throw new ExcelException(413, "上传文件超过" + uploadTempFiles.getMaxUploadBytes() / 1024 / 1024 + "MB");
+        }
+        long size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < MIN_CHUNK_SIZE) {
+            throw new ExcelException(400, "分片大小不能小于" + MIN_CHUNK_SIZE + "字节");
+        }
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Session session = new Session(uploadId, templateKey, fileName, totalSize, size, directory.resolve(uploadId));
+        try {
+            Files.createDirectories(session.dir);
+        } catch (IOException e) {
+            throw new ExcelException("创建分片目录失败: " + e.getMessage(), e);
+        }
+        sessions.put(uploadId, session);
+        logger.info("分片上传[{}]开始: 模板[{}]，文件{}，{}字节，{}个分片", uploadId, templateKey, fileName, totalSize,
+                session.chunkCount);
+        return session.status();
+    }
+
+    /**
+     * 接收一个分片，同一分片重复上传时覆盖
+     *
+     * @param uploadId 上传ID
+     * @param index 分片序号（从0开始）
+     * @param in 分片内容
+     * @param checksum 分片内容的SHA-256（十六进制）
+     * @return 上传状态
+     */
+    public ChunkedUploadStatus putChunk(String uploadId, int index, InputStream in, String checksum) {
+        Session session = session(uploadId);
+        if (index < 0 || index >= session.chunkCount) {
+            throw new ExcelException(400, "分片序号超出范围: " + index + "，分片总数" + session.chunkCount);
+        }
+        if (StringUtils.isBlank(checksum)) {
+            throw new ExcelException(400, "缺少分片校验和");
+        }
+        long expected = index < session.chunkCount - 1
+                ? session.chunkSize : session.totalSize - (long) index * session.chunkSize;
+        Path temp = session.dir.resolve(index + ".part.tmp-" + UUID.randomUUID().toString().replace("-", ""));
+        try {
+            MessageDigest digest = Digests.sha256();
+            long length = receive(new DigestInputStream(in, digest), temp, expected);
+            if (length != expected) {
+                throw new ExcelException(400, "分片" + index + "大小为" + length + "字节，应为" + expected + "字节");
+            }
+            String actual = Digests.hex(digest.digest());
+            if (!actual.equals(checksum.trim().toLowerCase(Locale.ROOT))) {
+                throw new ExcelException(400, "分片" + index + "校验和不一致");
+            }
+            synchronized (session) {
+                if (session.completing) {
+                    throw new ExcelException(409, "上传已在合并中: " + uploadId);
+                }
+                move(temp, session.part(index));
+                session.received.set(index);
+                session.touch();
+            }
+            return session.status();
+        } catch (IOException e) {
+            throw new ExcelException("保存分片失败: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * 查询上传状态
+     *
+     * @param uploadId 上传ID
+     * @return 上传状态
+     */
+    public ChunkedUploadStatus status(String uploadId) {
+        return session(uploadId).status();
+    }
+
+    /**
+     * 合并全部分片并提交异步导入任务
+     * <p>
+     * 重复调用是幂等的：任务已提交时直接返回同一任务ID。分片在导入成功前保留，
+     * 任务失败（包括排队时内存预算不足、模板错误、数据库故障）后可再次调用complete重新提交，无需重传分片。
+     *
+     * @param uploadId 上传ID
+     * @param operator 操作信息（操作人、IP、User Agent）
+     * @return 上传状态，jobId为导入任务ID
+     */
+    public ChunkedUploadStatus complete(String uploadId, ExcelOperationLog operator) {
+        Session session = session(uploadId);
+        synchronized (session) {
+            if (session.jobId != null) {
+                return session.status();
+            }
+            if (session.completing) {
+                throw new ExcelException(409, "上传已在合并中: " + uploadId);
+            }
+            List<Integer> missing = new ArrayList<>();
+            for (int i = session.received.nextClearBit(0); i < session.chunkCount;
+                 i = session.received.nextClearBit(i + 1)) {
+                missing.add(i);
+            }
+            if (!missing.isEmpty()) {
+                throw new ExcelException(400, "缺少分片: " + StringUtils.join(missing, ","));
+            }
+            session.completing = true;
+        }
+        File file;
+        try {
+            file = assemble(session);
+        } catch (RuntimeException e) {
+            synchronized (session) {
+                session.completing = false;
+            }
+            throw e;
+        }
+        // 持有会话锁提交，任务结束回调在jobId写入之后执行
+        synchronized (session) {
+            try {
+                session.jobId = jobService.submitImport(session.templateKey, file, session.fileName, operator,
+                        job -> finished(session, job));
+            } catch (RuntimeException e) {
+                session.completing = false;
+                throw e;
+            }
+            session.touch();
+            logger.info("分片上传[{}]合并完成，已提交导入任务[{}]", uploadId, session.jobId);
+            return session.status();
+        }
+    }
+
+    /**
+     * 导入任务结束：成功或部分成功时删除分片，会话保留至过期以便重复的complete返回同一任务；
+     * 失败时保留分片并允许重新complete
+     */
+    private void finished(Session session, ExcelOperationLog job) {
+        synchronized (session) {
+            session.touch();
+            if (Integer.valueOf(ExcelOperationLog.STATUS_FAILED).equals(job.getStatus())) {
+                session.jobId = null;
+                session.completing = false;
+                logger.warn("分片上传[{}]的导入任务[{}]失败，分片已保留，可重新提交", session.uploadId, job.getId());
+                return;
+            }
+            session.done = true;
+        }
+        deleteDirectory(session.dir);
+    }
+
+    /**
+     * 放弃上传并删除已接收的分片
+     *
+     * @param uploadId 上传ID
+     */
+    public void abort(String uploadId) {
+        Session session = sessions.remove(uploadId);
+        if (session != null) {
+            deleteDirectory(session.dir);
+        }
+    }
+
+    private Session session(String uploadId) {
+        Session session = sessions.get(uploadId);
+        if (session == null || session.expired(expireMillis)) {
+            if (session != null) {
+                abort(uploadId);
+            }
+            throw new ExcelException(404, "上传不存在或已过期: " + uploadId);
+        }
+        return session;
+    }
+
+    /**
+     * 按序号以transferTo拼接分片
+     */
+    private File assemble(Session session) {
+        File file = uploadTempFiles.create(session.fileName);
+        try (FileChannel target = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            for (int i = 0; i < session.chunkCount; i++) {
+                try (FileChannel source = FileChannel.open(session.part(i), StandardOpenOption.READ)) {
+                    long size = source.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+            if (target.size() != session.totalSize) {
+                throw new ExcelException(400, "合并后文件大小为" + target.size() + "字节，应为" + session.totalSize + "字节");
+            }
+            return file;
+        } catch (IOException e) {
+            uploadTempFiles.delete(file);
+            throw new ExcelException("合并分片失败: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            uploadTempFiles.delete(file);
+            throw e;
+        }
+    }
+
+    /**
+     * 将分片内容写入临时文件，超过期望大小时提前停止
+     *
+     * @return 实际读取的字节数（超出时为期望大小加1以上）
+     */
+    private static long receive(InputStream in, Path temp, long expected) throws IOException {
+        long position = 0;
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(in);
+            long transferred;
+            while (position <= expected
+                    && (transferred = target.transferFrom(source, position, Math.min(TRANSFER_CHUNK, expected - position + 1))) > 0) {
+                position += transferred;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * 清理过期会话
+     */
+    private void sweep() {
+        for (Session session : sessions.values()) {
+            if (session.expired(expireMillis) && sessions.remove(session.uploadId, session)) {
+                deleteDirectory(session.dir);
+                logger.info("分片上传[{}]已过期，删除{}个分片", session.uploadId, session.received.cardinality());
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteDirectory(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(ChunkedUploadService::deleteQuietly);
+        } catch (IOException e) {
+            logger.warn("删除分片目录失败: {}", dir, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("删除文件失败: {}", path, e);
+        }
+    }
+
+    /**
+     * 上传会话
+     */
+    private static final class Session {
+
+        private final String uploadId;
+
+        private final String templateKey;
+
+        private final String fileName;
+
+        private final long totalSize;
+
+        private final long chunkSize;
+
+        private final int chunkCount;
+
+        private final Path dir;
+
+        private final BitSet received;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        /**
+         * 合并中或导入任务执行中，期间拒绝上传分片且会话不过期
+         */
+        private volatile boolean completing;
+
+        /**
+         * 已提交的导入任务ID
+         */
+        private Long jobId;
+
+        /**
+         * 导入已成功，分片已删除
+         */
+        private volatile boolean done;
+
+        private Session(String uploadId, String templateKey, String fileName, long totalSize, long chunkSize,
+                        Path dir) {
+            this.uploadId = uploadId;
+            this.templateKey = templateKey;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.dir = dir;
+            this.received = new BitSet(chunkCount);
+        }
+
+        private Path part(int index) {
+            return dir.resolve(index + ".part");
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        private boolean expired(long expireMillis) {
+            return (!completing || done) && System.currentTimeMillis() - lastAccess > expireMillis;
+        }
+
+        private synchronized ChunkedUploadStatus status() {
+            ChunkedUploadStatus status = new ChunkedUploadStatus();
+            status.setUploadId(uploadId);
+            status.setTemplateKey(templateKey);
+            status.setFileName(fileName);
+            status.setTotalSize(totalSize);
+            status.setChunkSize(chunkSize);
+            status.setChunkCount(chunkCount);
+            List<Integer> chunks = new ArrayList<>(received.cardinality());
+            for (int i = received.nextSetBit(0); i >= 0; i = received.nextSetBit(i + 1)) {
+                chunks.add(i);
+            }
+            status.setReceivedChunks(chunks);
+            status.setJobId(jobId);
+            return status;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.provider.DropdownProvider;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.util.CellConverter;
+import com.framework.excel.util.DropdownOptions;
+import com.framework.excel.util.DropdownSheetWriter;
+import com.framework.excel.util.TtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 下拉引擎
+ * <p>
+ * 提供者结果按缓存键做TTL缓存（excel.dropdown-cache-time），同时缓存显示文本索引。
+ * 生成模板时每组选项只写入隐藏查找表一次；导入时下拉列的显示文本通过哈希索引反查为选项值，
+ * 未命中索引的文本按字段数据类型原样转换，兼容直接填写选项值的文件。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class DropdownEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(DropdownEngine.class);
+
+    private final TtlCache<String, DropdownOptions> cache;
+
+    public DropdownEngine(ExcelConfig excelConfig) {
+        this.cache = new TtlCache<>(excelConfig.getDropdownCacheTime() * 1000L, excelConfig.getDropdownCacheSize());
+    }
+
+    /**
+     * 获取提供者的选项
+     *
+     * @param provider 下拉数据提供者
+     * @return 选项及索引
+     */
+    public DropdownOptions options(DropdownProvider provider) {
+        String key = provider.getCacheKey();
+        if (key == null) {
+            return new DropdownOptions(provider.getOptions());
+        }
+        return cache.get(key, k -> {
+            long start = System.currentTimeMillis();
+            DropdownOptions options = new DropdownOptions(provider.getOptions());
+            logger.debug("下拉选项[{}]加载{}项，耗时{}ms", k, options.size(), System.currentTimeMillis() - start);
+            return options;
+        });
+    }
+
+    /**
+     * 为带下拉的字段写入查找表与数据验证
+     *
+     * @param writer 下拉数据写入器
+     * @param fields 字段配置（按列顺序）
+     * @param firstRow 数据验证起始行
+     * @param lastRow 数据验证结束行
+     */
+    public void writeDropdowns(DropdownSheetWriter writer, List<ExcelFieldConfig> fields, int firstRow, int lastRow) {
+        for (int i = 0; i < fields.size(); i++) {
+            DropdownProvider provider = fields.get(i).getDropdownProvider();
+            if (provider != null) {
+                writer.addDropdown(i, provider.getCacheKey(), options(provider).getOptions());
+            }
+        }
+        writer.write(firstRow, lastRow);
+    }
+
+    /**
+     * 为下拉字段包装转换器：先按显示文本查索引，未命中再按原转换器转换
+     *
+     * @param fields 字段配置
+     * @param converters 按字段位置排列的原转换器
+     * @return 包装后的转换器，无下拉字段时返回原数组
+     */
+    public CellConverter[] decorate(List<ExcelFieldConfig> fields, CellConverter[] converters) {
+        CellConverter[] result = converters;
+        for (int i = 0; i < fields.size(); i++) {
+            DropdownProvider provider = fields.get(i).getDropdownProvider();
+            if (provider == null) {
+                continue;
+            }
+            if (result == converters) {
+                result = converters.clone();
+            }
+            result[i] = lookupConverter(fields.get(i), options(provider), converters[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 预先将选项值转换为字段类型，单元格转换时只做一次哈希查找
+     */
+    private static CellConverter lookupConverter(ExcelFieldConfig field, DropdownOptions options, CellConverter fallback) {
+        Map<String, Object> index = new HashMap<>(Math.max(16, options.size() * 4 / 3 + 1));
+        for (Map.Entry<String, Object> entry : options.getValueByDisplay().entrySet()) {
+            try {
+                index.put(entry.getKey(), fallback.convert(entry.getValue().toString()));
+            } catch (IllegalArgumentException e) {
+                logger.warn("字段[{}]下拉选项值{}无法转换为{}，已忽略", field.getFieldName(), entry.getValue(),
+                        field.getDataType());
+            }
+        }
+        return text -> {
+            Object value = index.get(text);
+            if (value == null) {
+                value = index.get(text.trim());
+            }
+            return value != null ? value : fallback.convert(text);
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.framework.excel.service;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONObject;
+import com.example.excel.provider.DropdownOption;
+import com.example.excel.provider.DropdownProvider;
+import com.example.excel.provider.StaticDropdownProvider;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.mapper.ExcelDynamicMapper;
+import com.framework.excel.util.SqlIdentifiers;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 下拉数据提供者工厂
+ * <p>
+ * 解析字段配置中的dropdown_config：
+ * <ul>
+ *     <li>STATIC：options数组，元素为{value, label}</li>
+ *     <li>RELATED_TABLE：tableName、valueField、displayField、whereClause，从关联表查询选项</li>
+ * </ul>
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class DropdownProviderFactory {
+
+    private static final String TYPE_STATIC = "STATIC";
+
+    private static final String TYPE_RELATED_TABLE = "RELATED_TABLE";
+
+    private final ExcelDynamicMapper dynamicMapper;
+
+    public DropdownProviderFactory(ExcelDynamicMapper dynamicMapper) {
+        this.dynamicMapper = dynamicMapper;
+    }
+
+    /**
+     * 根据下拉配置创建提供者
+     *
+     * @param dropdownConfig 下拉配置JSON
+     * @return 下拉数据提供者，未配置时返回null
+     */
+    public DropdownProvider create(String dropdownConfig) {
+        if (StringUtils.isBlank(dropdownConfig)) {
+            return null;
+        }
+        JSONObject config;
+        try {
+            config = JSON.parseObject(dropdownConfig);
+        } catch (JSONException e) {
+            throw new ExcelException(400, "下拉配置格式错误: " + dropdownConfig, e);
+        }
+        String type = StringUtils.upperCase(config.getString("type"));
+        if (TYPE_STATIC.equals(type)) {
+            return createStatic(config, dropdownConfig);
+        }
+        if (TYPE_RELATED_TABLE.equals(type)) {
+            return createRelatedTable(config);
+        }
+        throw new ExcelException(400, "不支持的下拉类型: " + type);
+    }
+
+    private static DropdownProvider createStatic(JSONObject config, String dropdownConfig) {
+        JSONArray items = config.getJSONArray("options");
+        List<DropdownOption> options = new ArrayList<>(items != null ? items.size() : 0);
+        if (items != null) {
+            for (int i = 0; i < items.size(); i++) {
+                JSONObject item = items.getJSONObject(i);
+                options.add(new DropdownOption(item.get("value"), item.getString("label")));
+            }
+        }
+        return new StaticDropdownProvider(options, "static:" + dropdownConfig);
+    }
+
+    private DropdownProvider createRelatedTable(JSONObject config) {
+        String tableName = SqlIdentifiers.require(config.getString("tableName"));
+        String valueField = SqlIdentifiers.require(config.getString("valueField"));
+        String displayField = SqlIdentifiers.require(config.getString("displayField"));
+        String whereClause = SqlIdentifiers.requireCondition(config.getString("whereClause"));
+        String cacheKey = "table:" + tableName + ":" + valueField + ":" + displayField + ":" + whereClause;
+        return new DropdownProvider() {
+            @Override
+            public List<DropdownOption> getOptions(Object... params) {
+                return dynamicMapper.selectOptions(tableName, valueField, displayField, whereClause);
+            }
+
+            @Override
+            public String getCacheKey() {
+                return cacheKey;
+            }
+        };
+    }
+}
@@ -0,0 +1,318 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.common.FileFormat;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.mapper.ExcelDynamicMapper;
+import com.framework.excel.util.QueryParams;
+import com.framework.excel.util.SqlIdentifiers;
+import com.framework.excel.util.StreamingCsvWriter;
+import com.framework.excel.util.StreamingExcelWriter;
+import com.framework.excel.util.StreamingJsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Excel流式导出服务
+ * <p>
+ * 通过MyBatis Cursor逐行读取业务数据并写入SXSSF工作簿、CSV或NDJSON文本，导出过程中不持有完整结果集；
+ * 大表可按主键范围分区并行读取（见{@link ExportRowFetcher}）。
+ * 业务表Mapper需提供selectCursor语句（MySQL下fetchSize为Integer.MIN_VALUE以启用流式结果集，按id升序，支持minId/maxId范围参数）。
+ * 导出结果可按内容键缓存为文件（见{@link ExportFileCache}），数据未变化时重复导出直接复用；
+ * 导入模板文件缓存为字节（见{@link TemplateDownloadCache}），应用启动后在后台预生成全部启用模板。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Service
+public class ExcelExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelExportService.class);
+
+    /**
+     * 流式查询语句ID
+     */
+    public static final String CURSOR_STATEMENT = "selectCursor";
+
+    private final ExportRowFetcher rowFetcher;
+
+    private final ExcelTemplateConfigService templateConfigService;
+
+    private final ExcelMapperRegistry mapperRegistry;
+
+    private final RowBinderCache rowBinderCache;
+
+    private final DropdownEngine dropdownEngine;
+
+    private final ExportFileCache exportFileCache;
+
+    private final TemplateDownloadCache templateDownloadCache;
+
+    private final MemoryBudget memoryBudget;
+
+    private final ExcelDynamicMapper dynamicMapper;
+
+    private final ExcelConfig excelConfig;
+
+    public ExcelExportService(ExportRowFetcher rowFetcher,
+                              ExcelTemplateConfigService templateConfigService,
+                              ExcelMapperRegistry mapperRegistry,
+                              RowBinderCache rowBinderCache,
+                              DropdownEngine dropdownEngine,
+                              ExportFileCache exportFileCache,
+                              TemplateDownloadCache templateDownloadCache,
+                              MemoryBudget memoryBudget,
+                              ExcelDynamicMapper dynamicMapper,
+                              ExcelConfig excelConfig) {
+        this.rowFetcher = rowFetcher;
+        this.templateConfigService = templateConfigService;
+        this.mapperRegistry = mapperRegistry;
+        this.rowBinderCache = rowBinderCache;
+        this.dropdownEngine = dropdownEngine;
+        this.exportFileCache = exportFileCache;
+        this.templateDownloadCache = templateDownloadCache;
+        this.memoryBudget = memoryBudget;
+        this.dynamicMapper = dynamicMapper;
+        this.excelConfig = excelConfig;
+    }
+
+    /**
+     * 按模板导出数据
+     *
+     * @param templateKey 模板Key
+     * @param params 查询条件
+     * @param out 输出流
+     * @return 导出行数
+     */
+    public int export(String templateKey, Map<String, Object> params, OutputStream out) {
+        return export(templateKey, params, out, FileFormat.XLSX);
+    }
+
+    /**
+     * 按模板导出数据
+     *
+     * @param templateKey 模板Key
+     * @param params 查询条件
+     * @param out 输出流
+     * @param format 文件格式
+     * @return 导出行数
+     */
+    public int export(String templateKey, Map<String, Object> params, OutputStream out, FileFormat format) {
+        return export(templateKey, params, out, format, false);
+    }
+
+    /**
+     * 按模板导出数据
+     *
+     * @param templateKey 模板Key
+     * @param params 查询条件
+     * @param out 输出流
+     * @param format 文件格式
+     * @param background 是否为异步任务，异步任务等待内存预算不设超时
+     * @return 导出行数
+     */
+    public int export(String templateKey, Map<String, Object> params, OutputStream out, FileFormat format,
+                      boolean background) {
+        ExcelTemplateConfig template = templateConfigService.getExportTemplate(templateKey);
+        String statement = mapperRegistry.statement(template.getTableName(), CURSOR_STATEMENT);
+        Map<String, Object> query = params != null ? params : new HashMap<>();
+
+        long start = System.currentTimeMillis();
+        int rows;
+        try (MemoryBudget.Permit permit = memoryBudget.acquire("模板[" + templateKey + "]导出",
+                memoryBudget.estimateExport(format, template.getFields().size(), rowFetcher.getParallelism()), background)) {
+            if (format == FileFormat.CSV) {
+                rows = exportCsv(template, statement, query, out);
+            } else if (format == FileFormat.NDJSON) {
+                rows = exportNdjson(template, statement, query, out);
+            } else {
+                rows = exportXlsx(template, statement, query, out);
+            }
+        }
+        long cost = System.currentTimeMillis() - start;
+        logger.info("模板[{}]导出{}行（{}），耗时{}ms，{}行/秒", templateKey, rows, format, cost,
+                rows * 1000L / Math.max(cost, 1L));
+        return rows;
+    }
+
+    /**
+     * 计算导出缓存内容键
+     * <p>
+     * 由模板Key、模板配置版本、可见字段、规范化查询条件、文件格式与表数据版本（行数、最大id、最大update_time）组成，
+     * 任一项变化即得到新的内容键。
+     *
+     * @param templateKey 模板Key
+     * @param params 查询条件
+     * @param format 文件格式
+     * @return 内容键，缓存未启用、NDJSON格式或无法获取数据版本时为null
+     */
+    public String cacheKey(String templateKey, Map<String, Object> params, FileFormat format) {
+        // NDJSON供下游程序边读边处理，直接流式输出
+        if (!exportFileCache.isEnabled() || format == FileFormat.NDJSON) {
+            return null;
+        }
+        ExcelTemplateConfig template = templateConfigService.getExportTemplate(templateKey);
+        Map<String, Object> version;
+        try {
+            version = dynamicMapper.selectDataVersion(SqlIdentifiers.require(template.getTableName()), "id");
+        } catch (RuntimeException e) {
+            logger.warn("模板[{}]无法获取数据版本，导出不使用缓存: {}", templateKey, e.getMessage());
+            return null;
+        }
+        if (version == null) {
+            return null;
+        }
+        // 公式防护改变CSV内容，开关变化后不能命中旧文件
+        boolean formulaGuard = Boolean.TRUE.equals(excelConfig.getExportCsvFormulaGuard());
+        StringBuilder source = new StringBuilder(templateKey)
+                .append('|').append(template.getVersion())
+                .append('|');
+        for (ExcelFieldConfig field : template.getFields()) {
+            source.append(field.getFieldName()).append(',');
+        }
+        source.append('|').append(QueryParams.canonical(params))
+                .append('|').append(format)
+                .append('|').append(format == FileFormat.CSV && formulaGuard)
+                .append('|').append(version.get("rowCount"))
+                .append('|').append(version.get("maxId"))
+                .append('|').append(version.get("maxUpdateTime"));
+        return ExportFileCache.digest(source.toString());
+    }
+
+    /**
+     * 导出到缓存文件并打开读取通道，内容键已存在时直接打开已有文件
+     *
+     * @param templateKey 模板Key
+     * @param params 查询条件
+     * @param format 文件格式
+     * @param cacheKey 由{@link #cacheKey}计算的内容键
+     * @return 缓存文件的只读通道（调用方负责关闭）
+     */
+    public FileChannel exportCached(String templateKey, Map<String, Object> params, FileFormat format,
+                                    String cacheKey) {
+        return exportFileCache.open(cacheKey, format.getExtension(),
+                out -> export(templateKey, params, out, format));
+    }
+
+    private int exportXlsx(ExcelTemplateConfig template, String statement, Map<String, Object> query,
+                           OutputStream out) {
+        try (StreamingExcelWriter writer = new StreamingExcelWriter(template, rowBinderCache.get(template),
+                excelConfig.getExportRowAccessWindow(), Boolean.TRUE.equals(excelConfig.getExportSharedStrings()))) {
+            writer.setCompression(excelConfig.getExportCompressionLevel());
+            writer.setZip64(Boolean.TRUE.equals(excelConfig.getExportZip64()));
+            rowFetcher.fetch(statement, template.getTableName(), query, writer::writeRow);
+            writer.write(out);
+            return writer.getRowCount();
+        } catch (IOException e) {
+            throw new ExcelException("导出Excel失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * CSV直接写入响应输出流，不经过工作簿与临时文件
+     */
+    private int exportCsv(ExcelTemplateConfig template, String statement, Map<String, Object> query,
+                          OutputStream out) {
+        try {
+            StreamingCsvWriter writer = new StreamingCsvWriter(template, rowBinderCache.get(template), out);
+            writer.setFormulaGuard(Boolean.TRUE.equals(excelConfig.getExportCsvFormulaGuard()));
+            rowFetcher.fetch(statement, template.getTableName(), query, writer::writeRow);
+            writer.flush();
+            return writer.getRowCount();
+        } catch (IOException e) {
+            throw new ExcelException("导出CSV失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * NDJSON直接写入响应输出流，每行一个JSON对象
+     */
+    private int exportNdjson(ExcelTemplateConfig template, String statement, Map<String, Object> query,
+                             OutputStream out) {
+        try (StreamingJsonWriter writer = new StreamingJsonWriter(template, rowBinderCache.get(template), out)) {
+            rowFetcher.fetch(statement, template.getTableName(), query, writer::writeRow);
+            writer.flush();
+            return writer.getRowCount();
+        } catch (IOException e) {
+            throw new ExcelException("导出NDJSON失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 输出导入模板（表头 + 下拉）
+     *
+     * @param templateKey 模板Key
+     * @param out 输出流
+     */
+    public void writeTemplate(String templateKey, OutputStream out) {
+        try {
+            out.write(templateBytes(templateKey));
+        } catch (IOException e) {
+            throw new ExcelException("输出导入模板失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取导入模板文件字节，优先使用缓存
+     *
+     * @param templateKey 模板Key
+     * @return xlsx文件字节，调用方不得修改
+     */
+    public byte[] templateBytes(String templateKey) {
+        ExcelTemplateConfig template = templateConfigService.getTemplate(templateKey);
+        return templateDownloadCache.get(template, () -> renderTemplate(template));
+    }
+
+    /**
+     * 应用启动后在后台预生成全部启用模板的导入模板
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpTemplates() {
+        if (!templateDownloadCache.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            long start = System.currentTimeMillis();
+            int count = 0;
+            for (String templateKey : templateConfigService.getEnabledTemplateKeys()) {
+                try {
+                    templateBytes(templateKey);
+                    count++;
+                } catch (RuntimeException e) {
+                    logger.warn("模板[{}]导入模板预生成失败: {}", templateKey, e.getMessage());
+                }
+            }
+            logger.info("导入模板预生成{}个，耗时{}ms", count, System.currentTimeMillis() - start);
+        }, "excel-template-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private byte[] renderTemplate(ExcelTemplateConfig template) {
+        long start = System.currentTimeMillis();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try (StreamingExcelWriter writer = new StreamingExcelWriter(template, rowBinderCache.get(template),
+                excelConfig.getExportRowAccessWindow())) {
+            dropdownEngine.writeDropdowns(writer.newDropdownWriter(), template.getFields(),
+                    1, excelConfig.getMaxImportRows());
+            writer.write(out);
+        } catch (IOException e) {
+            throw new ExcelException("生成导入模板失败: " + e.getMessage(), e);
+        }
+        logger.info("模板[{}]导入模板生成完成，{}字节，耗时{}ms", template.getTemplateKey(), out.size(),
+                System.currentTimeMillis() - start);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,403 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.example.excel.config.PrimaryKeyStrategy;
+import com.example.excel.config.UpdateMode;
+import com.framework.excel.common.FileFormat;
+import com.framework.excel.common.ImportError;
+import com.framework.excel.common.ImportResult;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.util.CellConverter;
+import com.framework.excel.util.MappedCsvReader;
+import com.framework.excel.util.RowBinder;
+import com.framework.excel.util.RowHandler;
+import com.framework.excel.util.StreamingExcelReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Excel导入服务
+ * <p>
+ * 流式读取（xlsx为SAX事件解析，csv为内存映射扫描） -> 按batchSize分块 -> 分块转换、校验、批量写入。excel.import-parallelism大于1时
+ * 分块由工作线程池并行处理，每个分块独立事务；否则在读取线程中顺序处理。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Service
+public class ExcelImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelImportService.class);
+
+    /**
+     * 保留单元格原始文本的转换器
+     */
+    private static final CellConverter RAW_TEXT = text -> text;
+
+    private final ExcelTemplateConfigService templateConfigService;
+
+    private final ExcelMapperRegistry mapperRegistry;
+
+    private final BatchUpsertWriter batchUpsertWriter;
+
+    private final RowBinderCache rowBinderCache;
+
+    private final DropdownEngine dropdownEngine;
+
+    private final ImportReferenceResolver referenceResolver;
+
+    private final ImportKeyResolver keyResolver;
+
+    private final ImportWorkerPool workerPool;
+
+    private final ImportLockCoordinator lockCoordinator;
+
+    private final PageQueryExecutor pageQueryExecutor;
+
+    private final MemoryBudget memoryBudget;
+
+    private final UploadTempFiles uploadTempFiles;
+
+    private final ExcelConfig excelConfig;
+
+    public ExcelImportService(ExcelTemplateConfigService templateConfigService,
+                              ExcelMapperRegistry mapperRegistry,
+                              BatchUpsertWriter batchUpsertWriter,
+                              RowBinderCache rowBinderCache,
+                              DropdownEngine dropdownEngine,
+                              ImportReferenceResolver referenceResolver,
+                              ImportKeyResolver keyResolver,
+                              ImportWorkerPool workerPool,
+                              ImportLockCoordinator lockCoordinator,
+                              PageQueryExecutor pageQueryExecutor,
+                              MemoryBudget memoryBudget,
+                              UploadTempFiles uploadTempFiles,
+                              ExcelConfig excelConfig) {
+        this.templateConfigService = templateConfigService;
+        this.mapperRegistry = mapperRegistry;
+        this.batchUpsertWriter = batchUpsertWriter;
+        this.rowBinderCache = rowBinderCache;
+        this.dropdownEngine = dropdownEngine;
+        this.referenceResolver = referenceResolver;
+        this.keyResolver = keyResolver;
+        this.workerPool = workerPool;
+        this.lockCoordinator = lockCoordinator;
+        this.pageQueryExecutor = pageQueryExecutor;
+        this.memoryBudget = memoryBudget;
+        this.uploadTempFiles = uploadTempFiles;
+        this.excelConfig = excelConfig;
+    }
+
+    /**
+     * 导入上传的Excel文件
+     *
+     * @param templateKey 模板Key
+     * @param file 上传文件
+     * @return 导入结果
+     */
+    public ImportResult importData(String templateKey, MultipartFile file) {
+        File tempFile = saveUpload(file);
+        try {
+            return importData(templateKey, tempFile);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /**
+     * 导入原始请求体，内容直接流式写入临时文件
+     *
+     * @param templateKey 模板Key
+     * @param in 请求体输入流
+     * @param fileName 原始文件名（按扩展名识别格式）
+     * @return 导入结果
+     */
+    public ImportResult importData(String templateKey, InputStream in, String fileName) {
+        File tempFile = receiveUpload(in, fileName);
+        try {
+            return importData(templateKey, tempFile);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /**
+     * 将上传文件保存到临时目录
+     *
+     * @param file 上传文件
+     * @return 临时文件，使用完毕后调用{@link #deleteTempFile(File)}删除
+     */
+    public File saveUpload(MultipartFile file) {
+        return uploadTempFiles.save(file);
+    }
+
+    /**
+     * 将原始请求体流式写入临时目录
+     *
+     * @param in 请求体输入流
+     * @param fileName 原始文件名（按扩展名识别格式）
+     * @return 临时文件，使用完毕后调用{@link #deleteTempFile(File)}删除
+     */
+    public File receiveUpload(InputStream in, String fileName) {
+        return uploadTempFiles.receive(in, fileName);
+    }
+
+    /**
+     * 删除临时文件
+     *
+     * @param tempFile 临时文件
+     */
+    public void deleteTempFile(File tempFile) {
+        uploadTempFiles.delete(tempFile);
+    }
+
+    /**
+     * 导入磁盘上的Excel文件
+     *
+     * @param templateKey 模板Key
+     * @param file xlsx或csv文件（按扩展名识别）
+     * @return 导入结果
+     */
+    public ImportResult importData(String templateKey, File file) {
+        return importData(templateKey, file, ImportProgressListener.NONE);
+    }
+
+    /**
+     * 导入磁盘上的Excel文件并回调进度
+     *
+     * @param templateKey 模板Key
+     * @param file xlsx或csv文件（按扩展名识别）
+     * @param listener 进度回调
+     * @return 导入结果
+     */
+    public ImportResult importData(String templateKey, File file, ImportProgressListener listener) {
+        return importData(templateKey, file, listener, false);
+    }
+
+    /**
+     * 导入磁盘上的Excel文件并回调进度
+     *
+     * @param templateKey 模板Key
+     * @param file xlsx或csv文件（按扩展名识别）
+     * @param listener 进度回调
+     * @param background 是否为异步任务，异步任务等待内存预算不设超时
+     * @return 导入结果
+     */
+    public ImportResult importData(String templateKey, File file, ImportProgressListener listener,
+                                   boolean background) {
+        long start = System.currentTimeMillis();
+        ExcelTemplateConfig template = templateConfigService.getTemplate(templateKey);
+
+        RowBinder binder = rowBinderCache.get(template);
+        ImportReferences references = referenceResolver.prepare(template, binder);
+        ImportKeys keys = keyResolver.prepare(template, binder);
+        // 未配置主键字段的模板沿用按编码写入的语句，由数据库唯一键决定插入或更新
+        String statement = keys != null ? null
+                : mapperRegistry.statement(template.getTableName(), writeStatement(template.getPrimaryKeyStrategy()));
+        CellConverter[] converters = references.decorate(
+                dropdownEngine.decorate(template.getFields(), binder.getConverters()));
+        ImportChunkProcessor processor = new ImportChunkProcessor(template.getFields(), binder, converters,
+                references, keys, statement, batchUpsertWriter, lockCoordinator, template.getTableName(),
+                keys != null ? keys.getPositions() : codePosition(template.getFields()));
+
+        // 读取线程只做解析，转换、校验与写入在分块处理器中完成
+        CellConverter[] rawText = new CellConverter[converters.length];
+        Arrays.fill(rawText, RAW_TEXT);
+        FileFormat format = FileFormat.fromFileName(file.getName());
+        StreamingExcelReader.ReadSummary summary;
+        ImportResult result;
+        try (MemoryBudget.Permit permit = memoryBudget.acquire("模板[" + templateKey + "]导入",
+                memoryBudget.estimateImport(file.length(), format, template.getFields().size(),
+                        workerPool.getParallelism()), background)) {
+            ChunkingRowHandler handler = new ChunkingRowHandler(processor, listener);
+            try {
+                summary = format == FileFormat.CSV
+                        ? new MappedCsvReader(template, rawText, excelConfig.getMaxImportRows()).read(file, handler)
+                        : new StreamingExcelReader(template, rawText, excelConfig.getMaxImportRows()).read(file, handler);
+                handler.dispatch();
+            } catch (RuntimeException e) {
+                handler.cancel();
+                throw e;
+            }
+            result = handler.collect();
+        }
+
+        if (result.getSuccessCount() > 0) {
+            pageQueryExecutor.invalidate(template.getTableName());
+        }
+        result.setTotalCount(summary.getRowCount());
+        result.setTruncated(summary.isTruncated());
+        result.setFailCount(result.getTotalCount() - result.getSuccessCount() - result.getSkipCount());
+        result.setCostTime(System.currentTimeMillis() - start);
+        logger.info("模板[{}]导入完成: 共{}行，成功{}行，跳过{}行，失败{}行，并行度{}，耗时{}ms，{}行/秒", templateKey,
+                result.getTotalCount(), result.getSuccessCount(), result.getSkipCount(), result.getFailCount(),
+                workerPool.getParallelism(), result.getCostTime(), result.getTotalCount() * 1000L / Math.max(result.getCostTime(), 1L));
+        return result;
+    }
+
+    /**
+     * 按编码写入的模板以唯一键code加锁与排序，模板不含code字段时返回null
+     */
+    private static int[] codePosition(List<ExcelFieldConfig> fields) {
+        for (int i = 0; i < fields.size(); i++) {
+            if ("code".equals(fields.get(i).getFieldName())) {
+                return new int[]{i};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据更新模式选择写入语句
+     */
+    private static String writeStatement(PrimaryKeyStrategy strategy) {
+        UpdateMode mode = strategy != null && strategy.getUpdateMode() != null
+                ? strategy.getUpdateMode() : UpdateMode.INSERT_OR_UPDATE;
+        switch (mode) {
+            case INSERT_ONLY:
+                return "insert";
+            case UPDATE_ONLY:
+                return "updateByCode";
+            default:
+                return "insertOrUpdateByCode";
+        }
+    }
+
+    /**
+     * 按batchSize分块并分派给工作线程池
+     * <p>
+     * 在途分块数受信号量限制为并行度，读取速度超过写入速度时解析线程阻塞等待，内存中最多缓冲
+     * (并行度 + 1)个分块。分块结果按提交顺序收集，错误明细最终按行号排序。
+     * 业务键在分派前按行序登记，任务内重复的键总是由后出现的行报错。
+     */
+    private final class ChunkingRowHandler implements RowHandler {
+
+        private final ImportChunkProcessor processor;
+
+        private final ImportProgressListener listener;
+
+        private final AtomicInteger processedRows = new AtomicInteger();
+
+        private final AtomicInteger successRows = new AtomicInteger();
+
+        private final int batchSize;
+
+        private final Semaphore inFlight;
+
+        private final List<Future<ChunkResult>> futures = new ArrayList<>();
+
+        private final List<ImportError> readErrors = new ArrayList<>();
+
+        private List<ImportRow> buffer;
+
+        private ChunkingRowHandler(ImportChunkProcessor processor, ImportProgressListener listener) {
+            this.processor = processor;
+            this.listener = listener;
+            this.batchSize = excelConfig.getBatchSize();
+            this.inFlight = new Semaphore(workerPool.getParallelism());
+            this.buffer = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void handle(int rowNum, Object[] values) {
+            Integer first = processor.claim(rowNum, values);
+            if (first != null) {
+                readErrors.add(new ImportError(rowNum, null, "与第" + first + "行主键重复"));
+                return;
+            }
+            buffer.add(new ImportRow(rowNum, values));
+            if (buffer.size() >= batchSize) {
+                dispatch();
+            }
+        }
+
+        @Override
+        public void onError(int rowNum, ExcelFieldConfig field, String rawValue, String message) {
+            readErrors.add(new ImportError(rowNum, field.getColumnName(), message));
+        }
+
+        private void dispatch() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            List<ImportRow> chunk = buffer;
+            buffer = new ArrayList<>(batchSize);
+            if (!workerPool.isParallel()) {
+                futures.add(CompletableFuture.completedFuture(process(chunk)));
+                return;
+            }
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExcelException("导入被中断", e);
+            }
+            try {
+                futures.add(workerPool.submit(() -> {
+                    try {
+                        return process(chunk);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                throw new ExcelException("导入线程池已关闭", e);
+            }
+        }
+
+        private ChunkResult process(List<ImportRow> chunk) {
+            ChunkResult chunkResult = processor.process(chunk);
+            listener.onProgress(processedRows.addAndGet(chunk.size()),
+                    successRows.addAndGet(chunkResult.getSuccessCount() + chunkResult.getSkipCount()));
+            return chunkResult;
+        }
+
+        private void cancel() {
+            for (Future<ChunkResult> future : futures) {
+                future.cancel(false);
+            }
+        }
+
+        private ImportResult collect() {
+            ImportResult result = new ImportResult();
+            List<ImportError> errors = new ArrayList<>(readErrors);
+            for (Future<ChunkResult> future : futures) {
+                ChunkResult chunkResult;
+                try {
+                    chunkResult = future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    throw new ExcelException("导入被中断", e);
+                } catch (ExecutionException e) {
+                    cancel();
+                    throw new ExcelException("分块导入失败: " + e.getCause().getMessage(), e.getCause());
+                }
+                result.setSuccessCount(result.getSuccessCount() + chunkResult.getSuccessCount());
+                result.setSkipCount(result.getSkipCount() + chunkResult.getSkipCount());
+                errors.addAll(chunkResult.getErrors());
+            }
+            errors.sort(Comparator.comparingInt(ImportError::getRowNum));
+            result.setErrors(errors);
+            return result;
+        }
+    }
+}
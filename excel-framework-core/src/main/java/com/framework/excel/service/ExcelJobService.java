@@ -0,0 +1,511 @@
+package com.framework.excel.service;
+
+import com.framework.excel.common.FileFormat;
+import com.framework.excel.common.ImportError;
+import com.framework.excel.common.ImportResult;
+import com.framework.excel.common.PageResult;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.entity.ExcelOperationLog;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.mapper.ExcelOperationLogMapper;
+import com.framework.excel.util.PageCursor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Excel异步任务服务
+ * <p>
+ * 提交后立即返回任务ID（excel_operation_log主键），任务在有界线程池中执行，队列满时拒绝新任务。
+ * 进度、计数与状态通过ExcelOperationLogMapper.update写回日志表，写回频率受excel.job-progress-interval限制；
+ * 执行中的任务状态保存在内存中，轮询不访问数据库，任务结束后从日志表按主键查询。
+ * <p>
+ * 导出文件保存在temp-dir/jobs下，超过excel.job-file-max-age分钟后由后台清理；
+ * 任务行记录执行实例ID与心跳时间，本实例按excel.job-heartbeat-interval刷新自己未完成任务的心跳；
+ * 启动时及每次心跳时，将心跳超过excel.job-lease-timeout的排队中、执行中任务标记为失败，
+ * 这些任务所在的实例已停止，多实例部署时不会误伤其他存活实例的任务。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Service
+public class ExcelJobService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelJobService.class);
+
+    public static final String OPERATION_IMPORT = "IMPORT";
+
+    public static final String OPERATION_EXPORT = "EXPORT";
+
+    public static final String OPERATION_TEMPLATE = "TEMPLATE";
+
+    /**
+     * 写入error_message的错误明细条数上限
+     */
+    private static final int ERROR_SUMMARY_LIMIT = 20;
+
+    private static final String EXPORT_PREFIX = "export-";
+
+    private static final List<Integer> UNFINISHED = Collections.unmodifiableList(
+            Arrays.asList(ExcelOperationLog.STATUS_QUEUED, ExcelOperationLog.STATUS_RUNNING));
+
+    private final ExcelImportService importService;
+
+    private final ExcelExportService exportService;
+
+    private final ExcelOperationLogMapper operationLogMapper;
+
+    private final PageQueryExecutor pageQueryExecutor;
+
+    private final ExcelConfig excelConfig;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService janitor;
+
+    /**
+     * 本进程的实例ID，每次启动生成新值
+     */
+    private final String instanceId;
+
+    /**
+     * 执行中的任务：任务ID -> 日志快照
+     */
+    private final Map<Long, ExcelOperationLog> activeJobs = new ConcurrentHashMap<>();
+
+    public ExcelJobService(ExcelImportService importService,
+                           ExcelExportService exportService,
+                           ExcelOperationLogMapper operationLogMapper,
+                           PageQueryExecutor pageQueryExecutor,
+                           ExcelConfig excelConfig) {
+        this.importService = importService;
+        this.exportService = exportService;
+        this.operationLogMapper = operationLogMapper;
+        this.pageQueryExecutor = pageQueryExecutor;
+        this.excelConfig = excelConfig;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(excelConfig.getJobThreads(), excelConfig.getJobThreads(),
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(excelConfig.getJobQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "excel-job-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        long interval = Math.max(1L, excelConfig.getTempFileCleanInterval());
+        this.janitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "excel-job-janitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        janitor.scheduleWithFixedDelay(this::cleanExportFiles, interval, interval, TimeUnit.MINUTES);
+        this.instanceId = ManagementFactory.getRuntimeMXBean().getName() + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 启动后回收已停止实例遗留的任务，并开始定时刷新本实例任务的心跳
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJobs() {
+        logger.info("异步任务实例ID: {}", instanceId);
+        heartbeat();
+        long heartbeat = Math.max(1000L, excelConfig.getJobHeartbeatInterval());
+        janitor.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 刷新本实例未完成任务的心跳，再将租约已过期（所在实例已停止）的未完成任务标记为失败
+     */
+    private void heartbeat() {
+        try {
+            if (!activeJobs.isEmpty()) {
+                operationLogMapper.touchByInstance(instanceId, UNFINISHED);
+            }
+            // 租约至少覆盖两个心跳间隔，避免配置不当时误判存活实例
+            long lease = Math.max(excelConfig.getJobLeaseTimeout(), 2 * excelConfig.getJobHeartbeatInterval());
+            long leaseSeconds = Math.max(1L, lease / 1000);
+            int count = operationLogMapper.failExpired(UNFINISHED, leaseSeconds, ExcelOperationLog.STATUS_FAILED,
+                    "任务所在实例已停止，任务已中断");
+            if (count > 0) {
+                logger.warn("{}个异步任务的执行实例已停止，标记为失败", count);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("刷新异步任务心跳失败: {}", ExceptionUtils.getRootCauseMessage(e));
+        }
+    }
+
+    /**
+     * 提交异步导入任务
+     *
+     * @param templateKey 模板Key
+     * @param file 上传文件（在调用线程中落盘）
+     * @param operator 操作信息（操作人、IP、User Agent）
+     * @return 任务ID
+     */
+    public Long submitImport(String templateKey, MultipartFile file, ExcelOperationLog operator) {
+        return submitImport(templateKey, importService.saveUpload(file), file.getOriginalFilename(), operator);
+    }
+
+    /**
+     * 提交异步导入任务，请求体在调用线程中流式落盘
+     *
+     * @param templateKey 模板Key
+     * @param in 请求体输入流
+     * @param fileName 原始文件名（按扩展名识别格式）
+     * @param operator 操作信息（操作人、IP、User Agent）
+     * @return 任务ID
+     */
+    public Long submitImport(String templateKey, InputStream in, String fileName, ExcelOperationLog operator) {
+        return submitImport(templateKey, importService.receiveUpload(in, fileName), fileName, operator);
+    }
+
+    private Long submitImport(String templateKey, File tempFile, String fileName, ExcelOperationLog operator) {
+        return submitImport(templateKey, tempFile, fileName, operator, null);
+    }
+
+    /**
+     * 以已落盘的临时文件提交异步导入任务，文件由任务负责删除
+     *
+     * @param templateKey 模板Key
+     * @param tempFile UploadTempFiles创建的临时文件
+     * @param fileName 原始文件名
+     * @param operator 操作信息（操作人、IP、User Agent）
+     * @param callback 任务结束（成功、部分成功或失败）后在任务线程中回调，可为null
+     * @return 任务ID
+     */
+    public Long submitImport(String templateKey, File tempFile, String fileName, ExcelOperationLog operator,
+                             Consumer<ExcelOperationLog> callback) {
+        ExcelOperationLog job;
+        try {
+            job = newJob(OPERATION_IMPORT, templateKey, fileName, operator);
+        } catch (RuntimeException e) {
+            importService.deleteTempFile(tempFile);
+            throw e;
+        }
+        job.setFileSize(tempFile.length());
+        try {
+            submit(job, () -> {
+                try {
+                    runImport(job, tempFile);
+                } finally {
+                    if (callback != null) {
+                        callback.accept(job);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            importService.deleteTempFile(tempFile);
+            throw e;
+        }
+        return job.getId();
+    }
+
+    /**
+     * 提交异步导出任务
+     *
+     * @param templateKey 模板Key
+     * @param params 查询条件
+     * @param format 文件格式
+     * @param operator 操作信息（操作人、IP、User Agent）
+     * @return 任务ID
+     */
+    public Long submitExport(String templateKey, Map<String, Object> params, FileFormat format,
+                             ExcelOperationLog operator) {
+        ExcelOperationLog job = newJob(OPERATION_EXPORT, templateKey, templateKey + format.getExtension(), operator);
+        submit(job, () -> runExport(job, params, format));
+        return job.getId();
+    }
+
+    /**
+     * 查询任务状态，执行中的任务直接返回内存状态
+     *
+     * @param jobId 任务ID
+     * @return 任务日志
+     */
+    public ExcelOperationLog getJob(Long jobId) {
+        ExcelOperationLog active = activeJobs.get(jobId);
+        if (active != null) {
+            return active;
+        }
+        ExcelOperationLog job = operationLogMapper.selectById(jobId);
+        if (job == null) {
+            throw new ExcelException(404, "任务不存在: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * 按创建时间倒序键集分页查询任务
+     *
+     * @param params 查询条件（templateKey、operationType、operator、status）
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param pageSize 每页大小
+     * @return 分页结果
+     */
+    public PageResult<ExcelOperationLog> listJobs(Map<String, Object> params, String cursor, int pageSize) {
+        Map<String, Object> query = params != null ? new HashMap<>(params) : new HashMap<>();
+        List<ExcelOperationLog> rows = operationLogMapper.selectBySeek(PageCursor.apply(query, cursor, pageSize));
+        return PageResult.seek(pageSize, rows, job -> PageCursor.encode(job.getCreateTime(), job.getId()));
+    }
+
+    /**
+     * 按页码分页查询任务
+     *
+     * @param params 查询条件（templateKey、operationType、operator、status）
+     * @param pageNum 页码
+     * @param pageSize 每页大小
+     * @param totalType 总数模式：EXACT精确统计、CACHED使用短期缓存、ABSENT不统计
+     * @return 分页结果
+     */
+    public PageResult<ExcelOperationLog> pageJobs(Map<String, Object> params, int pageNum, int pageSize,
+                                                  PageResult.TotalType totalType) {
+        return pageQueryExecutor.page("excel_operation_log", params, pageNum, pageSize, totalType,
+                operationLogMapper::selectByPage, operationLogMapper::countByCondition);
+    }
+
+    /**
+     * 获取导出任务生成的文件
+     *
+     * @param jobId 任务ID
+     * @return 导出文件
+     */
+    public File getExportFile(Long jobId) {
+        ExcelOperationLog job = getJob(jobId);
+        if (!OPERATION_EXPORT.equals(job.getOperationType())) {
+            throw new ExcelException(400, "任务不是导出任务: " + jobId);
+        }
+        File file = exportFile(jobId, FileFormat.fromFileName(job.getFileName()));
+        if (!Integer.valueOf(ExcelOperationLog.STATUS_SUCCESS).equals(job.getStatus()) || !file.exists()) {
+            throw new ExcelException(404, "导出文件未就绪或已清理: " + jobId);
+        }
+        return file;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        janitor.shutdownNow();
+    }
+
+    private ExcelOperationLog newJob(String operationType, String templateKey, String fileName,
+                                     ExcelOperationLog operator) {
+        ExcelOperationLog job = new ExcelOperationLog();
+        job.setOperationType(operationType);
+        job.setTemplateKey(templateKey);
+        job.setFileName(fileName);
+        job.setStatus(ExcelOperationLog.STATUS_QUEUED);
+        job.setInstanceId(instanceId);
+        job.setRecordCount(0);
+        job.setSuccessCount(0);
+        job.setFailCount(0);
+        if (operator != null) {
+            job.setOperator(operator.getOperator());
+            job.setIpAddress(operator.getIpAddress());
+            job.setUserAgent(StringUtils.abbreviate(operator.getUserAgent(), 512));
+        }
+        operationLogMapper.insert(job);
+        return job;
+    }
+
+    private void submit(ExcelOperationLog job, Runnable task) {
+        activeJobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    activeJobs.remove(job.getId());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getId());
+            job.setStatus(ExcelOperationLog.STATUS_FAILED);
+            job.setErrorMessage("任务队列已满");
+            operationLogMapper.update(job);
+            throw new ExcelException(429, "任务队列已满，请稍后重试");
+        }
+    }
+
+    private void runImport(ExcelOperationLog job, File tempFile) {
+        long start = System.currentTimeMillis();
+        markRunning(job);
+        ProgressWriter progress = new ProgressWriter(job, start);
+        try {
+            ImportResult result = importService.importData(job.getTemplateKey(), tempFile, progress, true);
+            job.setRecordCount(result.getTotalCount());
+            job.setSuccessCount(result.getSuccessCount());
+            job.setFailCount(result.getFailCount());
+            job.setErrorMessage(summarize(result));
+            job.setStatus(result.getFailCount() == 0 ? ExcelOperationLog.STATUS_SUCCESS
+                    : result.getSuccessCount() == 0 ? ExcelOperationLog.STATUS_FAILED : ExcelOperationLog.STATUS_PARTIAL);
+        } catch (RuntimeException e) {
+            logger.error("导入任务[{}]失败", job.getId(), e);
+            job.setStatus(ExcelOperationLog.STATUS_FAILED);
+            job.setErrorMessage(ExceptionUtils.getRootCauseMessage(e));
+        } finally {
+            importService.deleteTempFile(tempFile);
+        }
+        finish(job, start);
+    }
+
+    private void runExport(ExcelOperationLog job, Map<String, Object> params, FileFormat format) {
+        long start = System.currentTimeMillis();
+        markRunning(job);
+        File file = exportFile(job.getId(), format);
+        try {
+            File dir = file.getParentFile();
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw new ExcelException("无法创建导出目录: " + dir.getAbsolutePath());
+            }
+            try (OutputStream out = new FileOutputStream(file)) {
+                int rows = exportService.export(job.getTemplateKey(), params, out, format, true);
+                job.setRecordCount(rows);
+                job.setSuccessCount(rows);
+            }
+            job.setFileSize(file.length());
+            job.setStatus(ExcelOperationLog.STATUS_SUCCESS);
+        } catch (IOException | RuntimeException e) {
+            logger.error("导出任务[{}]失败", job.getId(), e);
+            job.setStatus(ExcelOperationLog.STATUS_FAILED);
+            job.setErrorMessage(ExceptionUtils.getRootCauseMessage(e));
+            if (file.exists() && !file.delete()) {
+                logger.warn("导出文件删除失败: {}", file.getAbsolutePath());
+            }
+        }
+        finish(job, start);
+    }
+
+    private void markRunning(ExcelOperationLog job) {
+        job.setStatus(ExcelOperationLog.STATUS_RUNNING);
+        operationLogMapper.update(job);
+    }
+
+    private void finish(ExcelOperationLog job, long start) {
+        job.setCostTime(System.currentTimeMillis() - start);
+        operationLogMapper.update(job);
+        logger.info("任务[{}]{}完成，状态{}，耗时{}ms", job.getId(), job.getOperationType(), job.getStatus(),
+                job.getCostTime());
+    }
+
+    private File exportFile(Long jobId, FileFormat format) {
+        return new File(jobDirectory(), EXPORT_PREFIX + jobId + format.getExtension());
+    }
+
+    private File jobDirectory() {
+        return new File(excelConfig.getTempDir(), "jobs");
+    }
+
+    /**
+     * 删除超过保留时间的导出文件，写入中的文件修改时间持续更新，不会被误删
+     */
+    private void cleanExportFiles() {
+        File[] files = jobDirectory().listFiles((dir, name) -> name.startsWith(EXPORT_PREFIX));
+        if (files == null) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() - excelConfig.getJobFileMaxAge() * 60 * 1000;
+        int count = 0;
+        for (File file : files) {
+            if (file.lastModified() < deadline) {
+                if (file.delete()) {
+                    count++;
+                } else {
+                    logger.warn("过期导出文件删除失败: {}", file.getAbsolutePath());
+                }
+            }
+        }
+        if (count > 0) {
+            logger.info("清理过期导出文件{}个", count);
+        }
+    }
+
+    private static String summarize(ImportResult result) {
+        if (result.getErrors().isEmpty()) {
+            return null;
+        }
+        StringBuilder summary = new StringBuilder();
+        int count = 0;
+        for (ImportError error : result.getErrors()) {
+            if (count++ == ERROR_SUMMARY_LIMIT) {
+                summary.append("...共").append(result.getErrors().size()).append("条错误");
+                break;
+            }
+            summary.append("第").append(error.getRowNum()).append("行");
+            if (error.getColumnName() != null) {
+                summary.append('[').append(error.getColumnName()).append(']');
+            }
+            summary.append(": ").append(error.getMessage()).append('\n');
+        }
+        return summary.toString();
+    }
+
+    /**
+     * 导入进度写回，内存状态实时更新，数据库按间隔节流
+     */
+    private final class ProgressWriter implements ImportProgressListener {
+
+        private final ExcelOperationLog job;
+
+        private final long start;
+
+        private final AtomicLong lastWrite = new AtomicLong();
+
+        private ProgressWriter(ExcelOperationLog job, long start) {
+            this.job = job;
+            this.start = start;
+        }
+
+        @Override
+        public void onProgress(int processedRows, int successRows) {
+            long now = System.currentTimeMillis();
+            ExcelOperationLog progress = new ExcelOperationLog();
+            synchronized (job) {
+                if (processedRows < job.getRecordCount()) {
+                    return;
+                }
+                job.setRecordCount(processedRows);
+                job.setSuccessCount(successRows);
+                job.setFailCount(processedRows - successRows);
+                job.setCostTime(now - start);
+                progress.setId(job.getId());
+                progress.setRecordCount(processedRows);
+                progress.setSuccessCount(successRows);
+                progress.setFailCount(processedRows - successRows);
+                progress.setCostTime(now - start);
+            }
+            long last = lastWrite.get();
+            if (now - last >= excelConfig.getJobProgressInterval() && lastWrite.compareAndSet(last, now)) {
+                operationLogMapper.update(progress);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.framework.excel.service;
+
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.mapper.FaultMapper;
+import com.framework.excel.mapper.ModelMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 业务表与Mapper的注册表
+ * 通用导入导出按模板的tableName找到对应Mapper，再以"命名空间.语句ID"执行约定的语句
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class ExcelMapperRegistry {
+
+    private final Map<String, Class<?>> mappers = new ConcurrentHashMap<>();
+
+    public ExcelMapperRegistry() {
+        register("fault", FaultMapper.class);
+        register("model", ModelMapper.class);
+    }
+
+    /**
+     * 注册业务表对应的Mapper
+     *
+     * @param tableName 表名
+     * @param mapperType Mapper接口
+     */
+    public void register(String tableName, Class<?> mapperType) {
+        mappers.put(tableName, mapperType);
+    }
+
+    /**
+     * 获取语句全限定ID
+     *
+     * @param tableName 表名
+     * @param statementId 语句ID
+     * @return 命名空间.语句ID
+     */
+    public String statement(String tableName, String statementId) {
+        Class<?> mapperType = mappers.get(tableName);
+        if (mapperType == null) {
+            throw new ExcelException(400, "表[" + tableName + "]未注册Mapper，无法执行Excel导入导出");
+        }
+        return mapperType.getName() + "." + statementId;
+    }
+}
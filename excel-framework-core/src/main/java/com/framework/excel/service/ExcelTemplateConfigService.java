@@ -0,0 +1,168 @@
+package com.framework.excel.service;
+
+import com.alibaba.fastjson2.JSON;
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.example.excel.config.PrimaryKeyStrategy;
+import com.example.excel.config.UpdateMode;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.mapper.ExcelFieldConfigMapper;
+import com.framework.excel.mapper.ExcelTemplateConfigMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Excel模板配置服务
+ * 将数据库中的模板配置、字段配置组装为运行时使用的ExcelTemplateConfig，组装结果经TemplateConfigCache缓存
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Service
+public class ExcelTemplateConfigService {
+
+    private final ExcelTemplateConfigMapper templateConfigMapper;
+
+    private final ExcelFieldConfigMapper fieldConfigMapper;
+
+    private final TemplateConfigCache templateConfigCache;
+
+    private final DropdownProviderFactory dropdownProviderFactory;
+
+    private final ExcelConfig excelConfig;
+
+    public ExcelTemplateConfigService(ExcelTemplateConfigMapper templateConfigMapper,
+                                      ExcelFieldConfigMapper fieldConfigMapper,
+                                      TemplateConfigCache templateConfigCache,
+                                      DropdownProviderFactory dropdownProviderFactory,
+                                      ExcelConfig excelConfig) {
+        this.templateConfigMapper = templateConfigMapper;
+        this.fieldConfigMapper = fieldConfigMapper;
+        this.templateConfigCache = templateConfigCache;
+        this.dropdownProviderFactory = dropdownProviderFactory;
+        this.excelConfig = excelConfig;
+    }
+
+    /**
+     * 获取包含全部字段的模板配置（导入用）
+     *
+     * @param templateKey 模板Key
+     * @return 模板配置
+     */
+    public ExcelTemplateConfig getTemplate(String templateKey) {
+        return templateConfigCache.get(templateKey + "#all", () -> {
+            com.framework.excel.entity.ExcelTemplateConfig entity = loadEntity(templateKey);
+            return assemble(entity, fieldConfigMapper.selectByTemplateId(entity.getId()));
+        });
+    }
+
+    /**
+     * 获取仅包含可见字段的模板配置（导出用）
+     *
+     * @param templateKey 模板Key
+     * @return 模板配置
+     */
+    public ExcelTemplateConfig getExportTemplate(String templateKey) {
+        return templateConfigCache.get(templateKey + "#visible", () -> {
+            com.framework.excel.entity.ExcelTemplateConfig entity = loadEntity(templateKey);
+            return assemble(entity, fieldConfigMapper.selectVisibleByTemplateId(entity.getId()));
+        });
+    }
+
+    /**
+     * 获取全部启用模板的Key
+     *
+     * @return 模板Key列表
+     */
+    public List<String> getEnabledTemplateKeys() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("enabled", 1);
+        List<String> keys = new ArrayList<>();
+        for (com.framework.excel.entity.ExcelTemplateConfig entity : templateConfigMapper.selectList(params)) {
+            keys.add(entity.getTemplateKey());
+        }
+        return keys;
+    }
+
+    private com.framework.excel.entity.ExcelTemplateConfig loadEntity(String templateKey) {
+        com.framework.excel.entity.ExcelTemplateConfig entity = templateConfigMapper.selectByTemplateKey(templateKey);
+        if (entity == null || Boolean.FALSE.equals(entity.getEnabled())) {
+            throw new ExcelException(404, "模板不存在或已禁用: " + templateKey);
+        }
+        return entity;
+    }
+
+    private TemplateConfigCache.CachedTemplate assemble(com.framework.excel.entity.ExcelTemplateConfig entity,
+                                                        List<com.framework.excel.entity.ExcelFieldConfig> fieldEntities) {
+        ExcelTemplateConfig config = new ExcelTemplateConfig();
+        config.setTemplateKey(entity.getTemplateKey());
+        config.setTableName(entity.getTableName());
+        config.setSheetName(entity.getSheetName());
+        try {
+            config.setEntityClass(Class.forName(entity.getEntityClass()));
+        } catch (ClassNotFoundException e) {
+            throw new ExcelException("模板[" + entity.getTemplateKey() + "]实体类不存在: " + entity.getEntityClass(), e);
+        }
+
+        PrimaryKeyStrategy strategy = new PrimaryKeyStrategy();
+        if (StringUtils.isNotBlank(entity.getPrimaryKeyFields())) {
+            strategy.setKeyFields(JSON.parseArray(entity.getPrimaryKeyFields(), String.class));
+        }
+        if (StringUtils.isNotBlank(entity.getUpdateMode())) {
+            strategy.setUpdateMode(UpdateMode.valueOf(entity.getUpdateMode().trim().toUpperCase()));
+        }
+        config.setPrimaryKeyStrategy(strategy);
+
+        long version = versionOf(entity.getUpdateTime());
+        List<ExcelFieldConfig> fields = new ArrayList<>(fieldEntities.size());
+        Set<Long> fieldIds = new HashSet<>();
+        for (com.framework.excel.entity.ExcelFieldConfig fieldEntity : fieldEntities) {
+            fields.add(assembleField(fieldEntity));
+            fieldIds.add(fieldEntity.getId());
+            version = Math.max(version, versionOf(fieldEntity.getUpdateTime()));
+        }
+        config.setFields(fields);
+        config.setVersion(version);
+        return new TemplateConfigCache.CachedTemplate(config, entity.getId(), fieldIds);
+    }
+
+    private static long versionOf(Date updateTime) {
+        return updateTime != null ? updateTime.getTime() : 0L;
+    }
+
+    private ExcelFieldConfig assembleField(com.framework.excel.entity.ExcelFieldConfig entity) {
+        ExcelFieldConfig field = new ExcelFieldConfig();
+        field.setFieldName(entity.getFieldName());
+        field.setColumnName(entity.getColumnName());
+        field.setColumnIndex(entity.getColumnIndex());
+        field.setDataType(StringUtils.isBlank(entity.getDataType())
+                ? DataType.STRING : DataType.valueOf(entity.getDataType().trim().toUpperCase()));
+        field.setRequired(Boolean.TRUE.equals(entity.getRequired()));
+        field.setVisible(!Boolean.FALSE.equals(entity.getVisible()));
+        if (entity.getWidth() != null) {
+            field.setWidth(entity.getWidth());
+        }
+        field.setDropdownProvider(dropdownProviderFactory.create(entity.getDropdownConfig()));
+        if (StringUtils.isNotBlank(entity.getDateFormat())) {
+            field.setDateFormat(entity.getDateFormat());
+        } else if (field.getDataType() == DataType.DATE) {
+            field.setDateFormat(excelConfig.getDefaultDateFormat());
+        } else if (field.getDataType() == DataType.DATETIME) {
+            field.setDateFormat(excelConfig.getDefaultDateTimeFormat());
+        }
+        if (StringUtils.isNotBlank(entity.getNumberFormat())) {
+            field.setNumberFormat(entity.getNumberFormat());
+        }
+        return field;
+    }
+}
@@ -0,0 +1,331 @@
+package com.framework.excel.service;
+
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.util.Digests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 导出结果文件缓存
+ * <p>
+ * 以内容键（模板、可见字段、规范化查询条件、格式与数据版本的SHA-256）命名，存放在excel.temp-dir/export-cache下，
+ * 内容键同时作为响应ETag。文件先写入临时文件再原子重命名，同一内容键并发请求只生成一次。
+ * 总大小超过excel.export-cache-max-size（MB）时按最近最少使用淘汰；启动时按修改时间恢复已有文件。
+ * 读取须经{@link #open}在缓存锁内打开通道，淘汰只删除目录项，已打开的通道仍可读完整内容。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class ExportFileCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportFileCache.class);
+
+    private static final String TEMP_MARKER = ".tmp-";
+
+    /**
+     * 文件生成后、打开前被淘汰时的最大重试次数
+     */
+    private static final int MAX_OPEN_ATTEMPTS = 3;
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    /**
+     * 内容键 -> 缓存文件，按访问顺序排列
+     */
+    private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 生成中的内容键
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<CachedFile>> pending = new ConcurrentHashMap<>();
+
+    private long totalBytes;
+
+    public ExportFileCache(ExcelConfig excelConfig) {
+        this.enabled = !Boolean.FALSE.equals(excelConfig.getExportCacheEnabled());
+        this.directory = Paths.get(excelConfig.getTempDir(), "export-cache");
+        this.maxBytes = Math.max(0L, excelConfig.getExportCacheMaxSize()) * 1024 * 1024;
+        if (enabled) {
+            restore();
+        }
+    }
+
+    /**
+     * @return 是否启用导出缓存
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 计算内容键
+     *
+     * @param source 内容描述
+     * @return SHA-256十六进制串
+     */
+    public static String digest(String source) {
+        return Digests.sha256Hex(source);
+    }
+
+    /**
+     * 打开缓存文件的读取通道，不存在时生成
+     * <p>
+     * 通道在缓存锁内打开，与淘汰互斥；生成后、打开前已被其他请求淘汰时重新生成。
+     *
+     * @param key 内容键
+     * @param extension 文件扩展名（含点）
+     * @param producer 文件内容生成器
+     * @return 只读文件通道（调用方负责关闭），size()即响应长度
+     */
+    public FileChannel open(String key, String extension, FileProducer producer) {
+        for (int attempt = 1; ; attempt++) {
+            FileChannel channel = open(getOrCreate(key, extension, producer));
+            if (channel != null) {
+                return channel;
+            }
+            if (attempt >= MAX_OPEN_ATTEMPTS) {
+                throw new ExcelException("导出缓存容量不足，文件生成后即被淘汰，请调大excel.export-cache-max-size");
+            }
+            logger.debug("导出缓存{}打开前已被淘汰，第{}次重新生成", key, attempt);
+        }
+    }
+
+    private CachedFile getOrCreate(String key, String extension, FileProducer producer) {
+        CachedFile cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<CachedFile> future = new CompletableFuture<>();
+        CompletableFuture<CachedFile> running = pending.putIfAbsent(key, future);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            cached = get(key);
+            if (cached == null) {
+                cached = create(key, extension, producer);
+            }
+            future.complete(cached);
+            return cached;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(key, future);
+        }
+    }
+
+    /**
+     * @return 缓存文件总大小（字节）
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized CachedFile get(String key) {
+        CachedFile cached = entries.get(key);
+        if (cached != null && !Files.exists(cached.path)) {
+            entries.remove(key);
+            totalBytes -= cached.size;
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * 在缓存锁内打开文件，文件已被淘汰或删除时返回null
+     */
+    private synchronized FileChannel open(CachedFile cached) {
+        if (entries.get(cached.key) != cached) {
+            return null;
+        }
+        try {
+            return FileChannel.open(cached.path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            entries.remove(cached.key);
+            totalBytes -= cached.size;
+            return null;
+        } catch (IOException e) {
+            throw new ExcelException("读取导出缓存失败: " + e.getMessage(), e);
+        }
+    }
+
+    private CachedFile create(String key, String extension, FileProducer producer) {
+        Path target = directory.resolve(key + extension);
+        Path temp = directory.resolve(key + TEMP_MARKER + UUID.randomUUID().toString().replace("-", ""));
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                producer.write(out);
+            }
+            move(temp, target);
+            CachedFile cached = new CachedFile(key, target, Files.size(target));
+            add(cached);
+            logger.debug("导出缓存写入: {}（{}字节），耗时{}ms", target.getFileName(), cached.size,
+                    System.currentTimeMillis() - start);
+            return cached;
+        } catch (IOException e) {
+            throw new ExcelException("写入导出缓存失败: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private synchronized void add(CachedFile cached) {
+        CachedFile previous = entries.put(cached.key, cached);
+        if (previous != null) {
+            totalBytes -= previous.size;
+        }
+        totalBytes += cached.size;
+        evict(cached.key);
+    }
+
+    /**
+     * 淘汰最久未访问的文件直至不超过容量，保留刚写入的文件
+     */
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, CachedFile>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            CachedFile eldest = iterator.next().getValue();
+            if (eldest.key.equals(keep)) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= eldest.size;
+            deleteQuietly(eldest.path);
+            logger.debug("导出缓存淘汰: {}", eldest.path.getFileName());
+        }
+    }
+
+    /**
+     * 恢复上次运行留下的缓存文件，清理未完成的临时文件
+     */
+    private synchronized void restore() {
+        File[] files = directory.toFile().listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String name = file.getName();
+            int dot = name.indexOf('.');
+            if (name.contains(TEMP_MARKER) || dot <= 0) {
+                deleteQuietly(file.toPath());
+                continue;
+            }
+            CachedFile cached = new CachedFile(name.substring(0, dot), file.toPath(), file.length());
+            entries.put(cached.key, cached);
+            totalBytes += cached.size;
+        }
+        evict(null);
+        logger.info("导出缓存恢复{}个文件，共{}字节", entries.size(), totalBytes);
+    }
+
+    private static CachedFile await(CompletableFuture<CachedFile> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelException("等待导出缓存生成被中断", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExcelException("导出缓存生成失败: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("删除导出缓存文件失败: {}", path, e);
+        }
+    }
+
+    /**
+     * 文件内容生成器
+     */
+    @FunctionalInterface
+    public interface FileProducer {
+
+        /**
+         * 写出文件内容
+         *
+         * @param out 输出流（调用方负责关闭）
+         * @throws IOException 写出失败
+         */
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * 缓存文件
+     */
+    public static final class CachedFile {
+
+        private final String key;
+
+        private final Path path;
+
+        private final long size;
+
+        private CachedFile(String key, Path path, long size) {
+            this.key = key;
+            this.path = path;
+            this.size = size;
+        }
+
+        /**
+         * @return 内容键，用作ETag
+         */
+        public String getKey() {
+            return key;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.framework.excel.service;
+
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.mapper.ExcelDynamicMapper;
+import com.framework.excel.util.SqlIdentifiers;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 导出数据读取器
+ * <p>
+ * excel.export-parallelism大于1且表足够大时，将主键范围[minId, maxId]均分为N个区间，
+ * 每个区间在独立的连接上以selectCursor（minId/maxId参数）流式读取，写入各自的有界缓冲；
+ * 调用线程按区间顺序依次消费缓冲，输出顺序与单连接按id升序读取一致。
+ * N不超过Druid连接池max-active的一半，为交互请求保留连接。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class ExportRowFetcher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportRowFetcher.class);
+
+    /**
+     * 每个分区的最小主键跨度，主键范围过小时不分区
+     */
+    private static final long MIN_PARTITION_SPAN = 10000L;
+
+    /**
+     * 分区读取结束标记
+     */
+    private static final Object END = new Object();
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    private final ExcelDynamicMapper dynamicMapper;
+
+    private final int parallelism;
+
+    private final int bufferSize;
+
+    private final ThreadPoolExecutor executor;
+
+    public ExportRowFetcher(SqlSessionFactory sqlSessionFactory, ExcelDynamicMapper dynamicMapper,
+                            ExcelConfig excelConfig, DataSource dataSource) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.dynamicMapper = dynamicMapper;
+        this.bufferSize = Math.max(1, excelConfig.getExportPartitionBuffer());
+        int configured = Math.max(1, excelConfig.getExportParallelism());
+        int maxActive = ImportWorkerPool.maxActive(dataSource);
+        this.parallelism = maxActive > 0 ? Math.max(1, Math.min(configured, maxActive / 2)) : configured;
+        if (parallelism < configured) {
+            logger.warn("excel.export-parallelism={}超过连接池max-active={}的一半，实际分区数为{}", configured, maxActive,
+                    parallelism);
+        }
+        this.executor = parallelism > 1 ? newExecutor(parallelism) : null;
+    }
+
+    /**
+     * 逐行读取导出数据
+     *
+     * @param statement selectCursor语句全限定ID
+     * @param tableName 表名
+     * @param query 查询条件
+     * @param sink 行消费者，在调用线程中按id升序回调
+     * @throws IOException 行消费者写出失败
+     */
+    public void fetch(String statement, String tableName, Map<String, Object> query, RowSink sink) throws IOException {
+        List<long[]> ranges = executor != null ? partition(tableName) : null;
+        if (ranges == null || ranges.size() < 2) {
+            try (SqlSession session = sqlSessionFactory.openSession();
+                 Cursor<Object> cursor = session.selectCursor(statement, query)) {
+                for (Object row : cursor) {
+                    sink.accept(row);
+                }
+            }
+            return;
+        }
+        fetchPartitioned(statement, query, ranges, sink);
+    }
+
+    /**
+     * @return 最大分区数
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 按主键范围均分区间，表过小时返回null
+     */
+    private List<long[]> partition(String tableName) {
+        Map<String, Object> range = dynamicMapper.selectIdRange(SqlIdentifiers.require(tableName), "id");
+        if (range == null || !(range.get("minId") instanceof Number) || !(range.get("maxId") instanceof Number)) {
+            return null;
+        }
+        long minId = ((Number) range.get("minId")).longValue();
+        long maxId = ((Number) range.get("maxId")).longValue();
+        long span = maxId - minId + 1;
+        int count = (int) Math.min(parallelism, span / MIN_PARTITION_SPAN);
+        if (count < 2) {
+            return null;
+        }
+        long step = (span + count - 1) / count;
+        List<long[]> ranges = new ArrayList<>(count);
+        for (long lower = minId; lower <= maxId; lower += step) {
+            ranges.add(new long[]{lower, Math.min(lower + step - 1, maxId)});
+        }
+        return ranges;
+    }
+
+    private void fetchPartitioned(String statement, Map<String, Object> query, List<long[]> ranges, RowSink sink)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        List<Partition> partitions = new ArrayList<>(ranges.size());
+        try {
+            for (long[] range : ranges) {
+                Partition partition = new Partition(bufferSize);
+                Map<String, Object> partitionQuery = new HashMap<>(query);
+                partitionQuery.put("minId", range[0]);
+                partitionQuery.put("maxId", range[1]);
+                partition.future = executor.submit(() -> partition.produce(statement, partitionQuery));
+                partitions.add(partition);
+            }
+            // 按区间顺序消费，后续区间在缓冲满后阻塞等待
+            for (Partition partition : partitions) {
+                partition.drain(sink);
+            }
+        } catch (RejectedExecutionException e) {
+            throw new ExcelException("导出线程池已关闭", e);
+        } finally {
+            for (Partition partition : partitions) {
+                partition.cancel();
+            }
+        }
+        logger.debug("分区导出完成: {}个分区，耗时{}ms", partitions.size(), System.currentTimeMillis() - start);
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        // 任务按提交顺序执行，每个导出的前序分区总是先于后续分区开始，消费不会互相等待
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "excel-export-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 行消费者
+     */
+    @FunctionalInterface
+    public interface RowSink {
+
+        /**
+         * 消费一行
+         *
+         * @param row 业务实体
+         * @throws IOException 写出失败
+         */
+        void accept(Object row) throws IOException;
+    }
+
+    /**
+     * 单个主键区间：生产者线程写入有界缓冲，调用线程消费
+     */
+    private final class Partition {
+
+        private final BlockingQueue<Object> buffer;
+
+        private volatile boolean cancelled;
+
+        private volatile Throwable failure;
+
+        private Future<?> future;
+
+        private Partition(int bufferSize) {
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void produce(String statement, Map<String, Object> query) {
+            try (SqlSession session = sqlSessionFactory.openSession();
+                 Cursor<Object> cursor = session.selectCursor(statement, query)) {
+                for (Object row : cursor) {
+                    if (!put(row)) {
+                        return;
+                    }
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+            put(END);
+        }
+
+        private boolean put(Object item) {
+            try {
+                while (!cancelled) {
+                    if (buffer.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        private void drain(RowSink sink) throws IOException {
+            while (true) {
+                Object item;
+                try {
+                    item = buffer.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ExcelException("导出被中断", e);
+                }
+                if (item == END) {
+                    if (failure != null) {
+                        throw new ExcelException("分区读取失败: " + failure.getMessage(), failure);
+                    }
+                    return;
+                }
+                sink.accept(item);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.framework.excel.util.CellConverter;
+import com.framework.excel.util.RowBinder;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 导入分块处理器
+ * <p>
+ * 对一个分块的原始单元格文本依次执行：类型转换 -> 绑定实体 -> 必填校验 -> 外键批量校验 -> 业务键划分 -> 批量写入。
+ * 处理器不持有可变状态，可被多个工作线程同时使用，每个分块（插入与更新一起）在BatchUpsertWriter的同一事务中提交。
+ * <p>
+ * 配置了键字段（主键字段，未配置时为唯一键code）时，写入前将分块按规范化键排序，使并发导入按相同顺序锁定索引记录；
+ * 存在性查询与写入在{@link ImportLockCoordinator}的表锁内完成，处理器实例即任务标识。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class ImportChunkProcessor {
+
+    private final List<ExcelFieldConfig> fields;
+
+    private final RowBinder binder;
+
+    private final CellConverter[] converters;
+
+    private final ImportReferences references;
+
+    private final ImportKeys keys;
+
+    private final String statement;
+
+    private final BatchUpsertWriter writer;
+
+    private final ImportLockCoordinator coordinator;
+
+    private final String tableName;
+
+    /**
+     * 排序使用的键字段位置，null表示不排序、不加锁
+     */
+    private final int[] keyPositions;
+
+    public ImportChunkProcessor(List<ExcelFieldConfig> fields, RowBinder binder, CellConverter[] converters,
+                                ImportReferences references, ImportKeys keys, String statement,
+                                BatchUpsertWriter writer, ImportLockCoordinator coordinator, String tableName,
+                                int[] keyPositions) {
+        this.fields = fields;
+        this.binder = binder;
+        this.converters = converters;
+        this.references = references;
+        this.keys = keys;
+        this.statement = statement;
+        this.writer = writer;
+        this.coordinator = coordinator;
+        this.tableName = tableName;
+        this.keyPositions = keyPositions;
+    }
+
+    /**
+     * 处理一个分块
+     *
+     * @param chunk 原始行，values为单元格文本
+     * @return 分块结果
+     */
+    public ChunkResult process(List<ImportRow> chunk) {
+        ChunkResult result = new ChunkResult();
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        for (ImportRow raw : chunk) {
+            Object entity = bind(raw.getRowNum(), (Object[]) raw.getEntity(), result);
+            if (entity != null) {
+                rows.add(new ImportRow(raw.getRowNum(), entity));
+            }
+        }
+        rows = references.verify(rows, result);
+        if (keyPositions == null) {
+            write(rows, result);
+            return result;
+        }
+        List<Map.Entry<String, ImportRow>> keyed = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            keyed.add(new AbstractMap.SimpleImmutableEntry<>(sortKey(row.getEntity()), row));
+        }
+        keyed.sort(Map.Entry.comparingByKey());
+        List<ImportRow> sorted = new ArrayList<>(keyed.size());
+        for (Map.Entry<String, ImportRow> entry : keyed) {
+            sorted.add(entry.getValue());
+        }
+        return coordinator.call(tableName, this, () -> {
+            write(sorted, result);
+            return result;
+        });
+    }
+
+    /**
+     * 在读取线程中按行序登记业务键，重复键保留文件中最先出现的行；键字段为空或无法转换时不登记，由分块处理记错
+     *
+     * @param rowNum 行号
+     * @param values 原始单元格文本
+     * @return 键已由更早的行登记时返回该行号，否则返回null
+     */
+    public Integer claim(int rowNum, Object[] values) {
+        if (keys == null) {
+            return null;
+        }
+        int[] positions = keys.getPositions();
+        Object[] tuple = new Object[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            Object raw = values[positions[i]];
+            if (raw == null) {
+                return null;
+            }
+            try {
+                tuple[i] = converters[positions[i]].convert((String) raw);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (tuple[i] == null) {
+                return null;
+            }
+        }
+        return keys.claim(rowNum, tuple);
+    }
+
+    private void write(List<ImportRow> rows, ChunkResult result) {
+        if (keys == null) {
+            merge(result, writer.write(statement, rows));
+            return;
+        }
+        ImportKeys.Split split = keys.split(rows, result);
+        // 插入与更新在同一事务内写入，分块整体提交或回滚
+        Map<String, List<ImportRow>> parts = new LinkedHashMap<>();
+        parts.put(keys.getInsertStatement(), split.getInserts());
+        parts.put(keys.getUpdateStatement(), split.getUpdates());
+        merge(result, writer.write(parts));
+    }
+
+    /**
+     * 以规范化键字段值拼接排序用的键，规范化规则与业务键比较一致
+     */
+    private String sortKey(Object entity) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < keyPositions.length; i++) {
+            if (i > 0) {
+                key.append('\u0001');
+            }
+            String value = ImportKeys.normalize(binder.get(entity, keyPositions[i]));
+            if (value != null) {
+                key.append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static void merge(ChunkResult result, ChunkResult written) {
+        result.addSuccess(written.getSuccessCount());
+        result.getErrors().addAll(written.getErrors());
+    }
+
+    /**
+     * 转换并绑定一行，失败时记录错误并返回null
+     */
+    private Object bind(int rowNum, Object[] values, ChunkResult result) {
+        Object entity = binder.newInstance();
+        for (int i = 0; i < fields.size(); i++) {
+            ExcelFieldConfig field = fields.get(i);
+            Object value = null;
+            if (values[i] != null) {
+                try {
+                    value = converters[i].convert((String) values[i]);
+                } catch (IllegalArgumentException e) {
+                    result.addError(rowNum, field.getColumnName(), e.getMessage());
+                    return null;
+                }
+            }
+            if (value == null) {
+                if (Boolean.TRUE.equals(field.getRequired())) {
+                    result.addError(rowNum, field.getColumnName(), "必填项不能为空");
+                    return null;
+                }
+                continue;
+            }
+            try {
+                binder.set(entity, i, value);
+            } catch (IllegalArgumentException e) {
+                result.addError(rowNum, field.getColumnName(), e.getMessage());
+                return null;
+            }
+        }
+        return entity;
+    }
+}
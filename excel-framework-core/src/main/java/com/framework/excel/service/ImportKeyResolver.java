@@ -0,0 +1,72 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.example.excel.config.PrimaryKeyStrategy;
+import com.example.excel.config.UpdateMode;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.mapper.ExcelDynamicMapper;
+import com.framework.excel.util.RowBinder;
+import com.framework.excel.util.SqlIdentifiers;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 导入业务键解析器
+ * <p>
+ * 模板配置了主键字段（primary_key_fields）时，为导入任务构建{@link ImportKeys}，
+ * 由批量存在性查询决定每行插入、更新或跳过；未配置时返回null，沿用按编码写入的语句。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class ImportKeyResolver {
+
+    private final ExcelDynamicMapper dynamicMapper;
+
+    private final ExcelMapperRegistry mapperRegistry;
+
+    public ImportKeyResolver(ExcelDynamicMapper dynamicMapper, ExcelMapperRegistry mapperRegistry) {
+        this.dynamicMapper = dynamicMapper;
+        this.mapperRegistry = mapperRegistry;
+    }
+
+    /**
+     * 为一次导入任务准备业务键上下文
+     *
+     * @param template 模板配置
+     * @param binder 行绑定器
+     * @return 业务键上下文，模板未配置主键字段时返回null
+     */
+    public ImportKeys prepare(ExcelTemplateConfig template, RowBinder binder) {
+        PrimaryKeyStrategy strategy = template.getPrimaryKeyStrategy();
+        if (strategy == null || strategy.getKeyFields() == null || strategy.getKeyFields().isEmpty()) {
+            return null;
+        }
+        List<ExcelFieldConfig> fields = template.getFields();
+        List<String> keyFields = strategy.getKeyFields();
+        int[] positions = new int[keyFields.size()];
+        List<String> keyColumns = new ArrayList<>(keyFields.size());
+        for (int k = 0; k < keyFields.size(); k++) {
+            positions[k] = position(fields, keyFields.get(k), template.getTemplateKey());
+            keyColumns.add(SqlIdentifiers.column(keyFields.get(k)));
+        }
+        UpdateMode mode = strategy.getUpdateMode() != null ? strategy.getUpdateMode() : UpdateMode.INSERT_OR_UPDATE;
+        String tableName = SqlIdentifiers.require(template.getTableName());
+        return new ImportKeys(fields, binder, positions, tableName, keyColumns, mode,
+                mapperRegistry.statement(tableName, "insert"), mapperRegistry.statement(tableName, "updateById"),
+                dynamicMapper);
+    }
+
+    private static int position(List<ExcelFieldConfig> fields, String keyField, String templateKey) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (keyField.equals(fields.get(i).getFieldName())) {
+                return i;
+            }
+        }
+        throw new ExcelException(400, "模板[" + templateKey + "]的主键字段[" + keyField + "]不在导入字段中");
+    }
+}
@@ -0,0 +1,287 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.UpdateMode;
+import com.framework.excel.mapper.ExcelDynamicMapper;
+import com.framework.excel.util.RowBinder;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 单次导入任务的业务键解析上下文
+ * <p>
+ * 写入分块前收集分块内全部键元组，以WHERE (k1, k2) IN (...)（单列键为k IN (...)，可走普通索引）
+ * 批量精确查询已存在的记录，再按更新模式将行划分为插入、更新、跳过三组。已存在的行回填主键后按主键更新，
+ * 复合键模板不依赖按编码更新的语句。每个分块通常只需一次查询。
+ * <p>
+ * 任务内维护键 -> 首次出现行号的索引，由读取线程按行序在分派分块前登记（{@link #claim}），
+ * 重复键总是保留文件中最先出现的一行，与分块的并行处理顺序无关；名称等非唯一列作为业务键时，
+ * 库中存在多条相同键的记录视为无法确定更新目标，相关行记为错误。
+ * 字符串键近似库表排序规则（utf8mb4_unicode_ci）比较：兼容分解（全角转半角）后去除重音符号，
+ * 忽略大小写与尾部空格；ß=ss等少数展开规则不在其列。
+ * 插入行保持分块内按业务键排好的顺序，更新行按主键升序，使并发导入以一致的顺序锁定索引记录。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class ImportKeys {
+
+    /**
+     * 单条IN查询的最大键元组数
+     */
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final List<ExcelFieldConfig> fields;
+
+    private final RowBinder binder;
+
+    /**
+     * 业务键字段位置
+     */
+    private final int[] positions;
+
+    private final String tableName;
+
+    private final List<String> keyColumns;
+
+    private final UpdateMode updateMode;
+
+    private final String insertStatement;
+
+    private final String updateStatement;
+
+    private final ExcelDynamicMapper dynamicMapper;
+
+    /**
+     * 任务内已出现的键 -> 首次出现的行号，只由读取线程按行序写入
+     */
+    private final Map<List<String>, Integer> seen = new HashMap<>();
+
+    ImportKeys(List<ExcelFieldConfig> fields, RowBinder binder, int[] positions, String tableName,
+               List<String> keyColumns, UpdateMode updateMode, String insertStatement, String updateStatement,
+               ExcelDynamicMapper dynamicMapper) {
+        this.fields = fields;
+        this.binder = binder;
+        this.positions = positions;
+        this.tableName = tableName;
+        this.keyColumns = keyColumns;
+        this.updateMode = updateMode;
+        this.insertStatement = insertStatement;
+        this.updateStatement = updateStatement;
+        this.dynamicMapper = dynamicMapper;
+    }
+
+    public String getInsertStatement() {
+        return insertStatement;
+    }
+
+    public String getUpdateStatement() {
+        return updateStatement;
+    }
+
+    /**
+     * @return 业务键字段位置
+     */
+    int[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * 在读取线程中按行序登记一行的业务键，须在分派该行所在分块之前调用
+     *
+     * @param rowNum 行号
+     * @param tuple 已转换的业务键值，按业务键字段顺序排列，不得含null
+     * @return 键已由更早的行登记时返回该行号，否则返回null
+     */
+    public Integer claim(int rowNum, Object[] tuple) {
+        String[] normalized = new String[tuple.length];
+        for (int i = 0; i < tuple.length; i++) {
+            normalized[i] = normalize(tuple[i]);
+        }
+        return seen.putIfAbsent(Arrays.asList(normalized), rowNum);
+    }
+
+    /**
+     * 按已存在的键划分分块
+     *
+     * @param chunk 分块数据
+     * @param result 键为空、库中存在多条相同键的行记为错误，被跳过的行计入跳过数
+     * @return 划分结果
+     */
+    public Split split(List<ImportRow> chunk, ChunkResult result) {
+        Split split = new Split();
+        if (chunk.isEmpty()) {
+            return split;
+        }
+        Map<List<String>, ImportRow> byKey = new LinkedHashMap<>(Math.max(16, chunk.size() * 4 / 3 + 1));
+        Map<List<String>, List<Object>> tuples = new HashMap<>(Math.max(16, chunk.size() * 4 / 3 + 1));
+        for (ImportRow row : chunk) {
+            Object[] tuple = new Object[positions.length];
+            String[] normalized = new String[positions.length];
+            boolean complete = true;
+            for (int i = 0; i < positions.length; i++) {
+                tuple[i] = binder.get(row.getEntity(), positions[i]);
+                if (tuple[i] == null) {
+                    result.addError(row.getRowNum(), fields.get(positions[i]).getColumnName(), "主键字段不能为空");
+                    complete = false;
+                    break;
+                }
+                normalized[i] = normalize(tuple[i]);
+            }
+            if (!complete) {
+                continue;
+            }
+            List<String> key = Arrays.asList(normalized);
+            byKey.put(key, row);
+            tuples.put(key, Arrays.asList(tuple));
+        }
+
+        Map<List<String>, Long> existing = new HashMap<>();
+        Map<List<String>, Integer> ambiguous = new HashMap<>();
+        load(tuples, existing, ambiguous);
+        Map<ImportRow, Long> updateIds = new IdentityHashMap<>();
+        for (Map.Entry<List<String>, ImportRow> entry : byKey.entrySet()) {
+            Long id = existing.get(entry.getKey());
+            ImportRow row = entry.getValue();
+            Integer matches = ambiguous.get(entry.getKey());
+            if (matches != null) {
+                result.addError(row.getRowNum(), "库中存在" + matches + "条主键相同的记录，无法确定更新目标");
+            } else if (id == null) {
+                if (updateMode == UpdateMode.UPDATE_ONLY) {
+                    result.addSkip(1);
+                } else {
+                    split.inserts.add(row);
+                }
+            } else if (updateMode == UpdateMode.INSERT_ONLY) {
+                result.addSkip(1);
+            } else {
+                SystemMetaObject.forObject(row.getEntity()).setValue("id", id);
+                split.updates.add(row);
+                updateIds.put(row, id);
+            }
+        }
+        split.updates.sort(Comparator.comparing(updateIds::get));
+        return split;
+    }
+
+    /**
+     * 分批查询已存在的键，填充规范化键 -> 主键，以及对应多条记录的键 -> 记录数
+     */
+    private void load(Map<List<String>, List<Object>> tuples, Map<List<String>, Long> existing,
+                      Map<List<String>, Integer> ambiguous) {
+        List<List<Object>> batch = new ArrayList<>(Math.min(tuples.size(), IN_CHUNK_SIZE));
+        for (List<Object> tuple : tuples.values()) {
+            batch.add(tuple);
+            if (batch.size() == IN_CHUNK_SIZE) {
+                collect(batch, existing, ambiguous);
+                batch = new ArrayList<>(IN_CHUNK_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            collect(batch, existing, ambiguous);
+        }
+    }
+
+    private void collect(List<List<Object>> batch, Map<List<String>, Long> existing,
+                         Map<List<String>, Integer> ambiguous) {
+        for (Map<String, Object> record : dynamicMapper.selectExistingKeys(tableName, "id", keyColumns, batch)) {
+            String[] normalized = new String[keyColumns.size()];
+            for (int i = 0; i < normalized.length; i++) {
+                normalized[i] = normalize(record.get(keyColumns.get(i)));
+            }
+            Object id = record.get("id");
+            if (!(id instanceof Number)) {
+                continue;
+            }
+            List<String> key = Arrays.asList(normalized);
+            if (existing.putIfAbsent(key, ((Number) id).longValue()) != null) {
+                ambiguous.merge(key, 2, (count, one) -> count + 1);
+            }
+        }
+    }
+
+    /**
+     * 将实体属性值与JDBC返回值统一为可比较的文本，消除Integer/Long、Date/LocalDateTime等类型差异；
+     * 字符串忽略大小写与尾部空格，与库表排序规则下IN查询的匹配结果一致
+     */
+    static String normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return fold((String) value);
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue()).stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "1" : "0";
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().toString();
+        }
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toString();
+        }
+        if (value instanceof Date) {
+            return LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()).toString();
+        }
+        return value.toString();
+    }
+
+    /**
+     * 兼容分解后去除组合符号并转小写，再去除尾部空格；纯ASCII文本只需转小写
+     */
+    private static String fold(String text) {
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        String folded = ascii ? text
+                : COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        int end = folded.length();
+        while (end > 0 && folded.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return folded.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 分块划分结果
+     */
+    public static class Split {
+
+        private final List<ImportRow> inserts = new ArrayList<>();
+
+        private final List<ImportRow> updates = new ArrayList<>();
+
+        public List<ImportRow> getInserts() {
+            return inserts;
+        }
+
+        public List<ImportRow> getUpdates() {
+            return updates;
+        }
+    }
+}
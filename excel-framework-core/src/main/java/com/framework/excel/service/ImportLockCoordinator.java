@@ -0,0 +1,111 @@
+package com.framework.excel.service;
+
+import com.framework.excel.exception.ExcelException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 导入表锁协调器
+ * <p>
+ * 每张目标表一把锁，分块的存在性查询与写入在锁内完成：不同表互不影响，同表的并发导入按分块轮流写入，
+ * 避免两个导入同时判断"不存在"后插入同一编码，或以相反顺序锁定唯一索引记录。
+ * 一个分块通常包含上千个键，按键哈希分段时几乎总会覆盖全部分段，因此直接按表加锁。
+ * <p>
+ * 锁按任务共享：同一导入任务的分块之间业务键已在任务内去重，可同时持有，任务内的并行度不受影响。
+ * 有其他任务等待时不再接纳持有任务的新分块，等待的任务按到达顺序依次获得锁，不会被长任务饿死。
+ * 锁只在单个实例内生效，多实例部署时仍依赖写入前的键排序与死锁重试。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class ImportLockCoordinator {
+
+    private final Map<String, TableLock> tables = new ConcurrentHashMap<>();
+
+    /**
+     * 持有目标表的锁执行写入
+     *
+     * @param tableName 目标表名
+     * @param owner 导入任务标识，同一任务的分块共享锁
+     * @param action 写入操作
+     * @param <T> 返回值类型
+     * @return 写入操作的返回值
+     */
+    public <T> T call(String tableName, Object owner, Supplier<T> action) {
+        TableLock lock = tables.computeIfAbsent(tableName, name -> new TableLock());
+        try {
+            lock.acquire(owner);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelException("等待导入表锁被中断", e);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * 按任务共享、按任务先来先得的表锁
+     */
+    private static final class TableLock {
+
+        private Object owner;
+
+        private int holders;
+
+        /**
+         * 等待中的任务，按到达顺序排列，每个任务只出现一次
+         */
+        private final Deque<Object> queue = new ArrayDeque<>();
+
+        /**
+         * 等待中的任务 -> 等待的分块数
+         */
+        private final Map<Object, Integer> waiting = new HashMap<>();
+
+        private synchronized void acquire(Object requester) throws InterruptedException {
+            if (!admissible(requester)) {
+                if (waiting.merge(requester, 1, Integer::sum) == 1) {
+                    queue.addLast(requester);
+                }
+                try {
+                    while (!admissible(requester)) {
+                        wait();
+                    }
+                } finally {
+                    if (waiting.merge(requester, -1, Integer::sum) == 0) {
+                        waiting.remove(requester);
+                        queue.remove(requester);
+                        notifyAll();
+                    }
+                }
+            }
+            owner = requester;
+            holders++;
+        }
+
+        private synchronized void release() {
+            if (--holders == 0) {
+                owner = null;
+                notifyAll();
+            }
+        }
+
+        /**
+         * 空闲时队首任务（或无人等待时任意任务）可获取；被占用时只接纳持有任务，且没有其他任务排在它前面
+         */
+        private boolean admissible(Object requester) {
+            boolean first = queue.isEmpty() || queue.peekFirst() == requester;
+            return holders == 0 ? first : owner == requester && first;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.framework.excel.service;
+
+/**
+ * 导入进度回调
+ * 并行导入时由工作线程调用，实现需线程安全
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+    /**
+     * 不处理进度的空实现
+     */
+    ImportProgressListener NONE = (processedRows, successRows) -> {
+    };
+
+    /**
+     * 一个分块处理完成
+     *
+     * @param processedRows 累计已处理行数
+     * @param successRows 累计成功行数
+     */
+    void onProgress(int processedRows, int successRows);
+}
@@ -0,0 +1,132 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.entity.Fault;
+import com.framework.excel.entity.FaultClassification;
+import com.framework.excel.entity.Model;
+import com.framework.excel.entity.ModelCategory;
+import com.framework.excel.exception.ExcelException;
+import com.framework.excel.mapper.ExcelDynamicMapper;
+import com.framework.excel.mapper.FaultClassificationMapper;
+import com.framework.excel.mapper.ModelCategoryMapper;
+import com.framework.excel.util.RowBinder;
+import com.framework.excel.util.SqlIdentifiers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 导入外键解析器
+ * <p>
+ * 每个导入任务开始时预取一次外键字典（名称 -> ID），单元格转换时直接查表；
+ * 需要校验存在性的ID列（excel.reference-checks）在写入每个分块前以分块IN查询批量校验，
+ * 引用检查不产生逐行数据库往返。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class ImportReferenceResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportReferenceResolver.class);
+
+    private final Map<String, Supplier<Map<String, Long>>> dictionaries = new ConcurrentHashMap<>();
+
+    private final ExcelDynamicMapper dynamicMapper;
+
+    private final ExcelConfig excelConfig;
+
+    public ImportReferenceResolver(FaultClassificationMapper faultClassificationMapper,
+                                   ModelCategoryMapper modelCategoryMapper,
+                                   ExcelDynamicMapper dynamicMapper,
+                                   ExcelConfig excelConfig) {
+        this.dynamicMapper = dynamicMapper;
+        this.excelConfig = excelConfig;
+        registerDictionary(Fault.class, "classificationId", faultClassificationMapper::selectAllEnabled,
+                FaultClassification::getName, FaultClassification::getId);
+        registerDictionary(Model.class, "categoryId", modelCategoryMapper::selectAllEnabled,
+                ModelCategory::getName, ModelCategory::getId);
+    }
+
+    /**
+     * 注册外键字典
+     *
+     * @param entityClass 实体类
+     * @param fieldName 外键字段名
+     * @param loader 字典数据加载函数
+     * @param nameGetter 名称
+     * @param idGetter ID
+     * @param <T> 字典实体类型
+     */
+    public <T> void registerDictionary(Class<?> entityClass, String fieldName, Supplier<List<T>> loader,
+                                       Function<T, String> nameGetter, Function<T, Long> idGetter) {
+        dictionaries.put(entityClass.getName() + "#" + fieldName, () -> {
+            List<T> items = loader.get();
+            Map<String, Long> index = new HashMap<>(Math.max(16, items.size() * 4 / 3 + 1));
+            for (T item : items) {
+                String name = nameGetter.apply(item);
+                Long id = idGetter.apply(item);
+                if (name != null && id != null) {
+                    index.merge(name.trim(), id, (a, b) -> ImportReferences.AMBIGUOUS);
+                }
+            }
+            return index;
+        });
+    }
+
+    /**
+     * 为一次导入任务准备外键解析上下文，字典在此预取
+     *
+     * @param template 模板配置
+     * @param binder 行绑定器
+     * @return 任务级外键上下文
+     */
+    public ImportReferences prepare(ExcelTemplateConfig template, RowBinder binder) {
+        List<ExcelFieldConfig> fields = template.getFields();
+        Map<Integer, Map<String, Long>> fieldDictionaries = new HashMap<>();
+        Map<Integer, String[]> checks = new HashMap<>();
+        Map<String, String> configuredChecks = excelConfig.getReferenceChecks() != null
+                ? excelConfig.getReferenceChecks().getOrDefault(template.getTemplateKey(), Collections.emptyMap())
+                : Collections.<String, String>emptyMap();
+
+        for (int i = 0; i < fields.size(); i++) {
+            String fieldName = fields.get(i).getFieldName();
+            String key = template.getEntityClass().getName() + "#" + fieldName;
+            Supplier<Map<String, Long>> dictionary = dictionaries.get(key);
+            if (dictionary != null) {
+                long start = System.currentTimeMillis();
+                Map<String, Long> index = dictionary.get();
+                fieldDictionaries.put(i, index);
+                logger.debug("模板[{}]字段[{}]预取外键字典{}项，耗时{}ms", template.getTemplateKey(), fieldName,
+                        index.size(), System.currentTimeMillis() - start);
+            }
+            String target = configuredChecks.get(fieldName);
+            if (target != null) {
+                checks.put(i, parseTarget(fieldName, target));
+            }
+        }
+        return new ImportReferences(fields, binder, fieldDictionaries, checks, dynamicMapper);
+    }
+
+    /**
+     * 解析"表名.列名"格式的校验目标
+     */
+    private static String[] parseTarget(String fieldName, String target) {
+        int dot = target.indexOf('.');
+        if (dot <= 0 || dot == target.length() - 1) {
+            throw new ExcelException(400, "字段[" + fieldName + "]外键校验配置应为\"表名.列名\": " + target);
+        }
+        return new String[]{SqlIdentifiers.require(target.substring(0, dot)),
+                SqlIdentifiers.require(target.substring(dot + 1))};
+    }
+}
@@ -0,0 +1,161 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.framework.excel.mapper.ExcelDynamicMapper;
+import com.framework.excel.util.CellConverter;
+import com.framework.excel.util.RowBinder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单次导入任务的外键上下文
+ * <p>
+ * 持有任务开始时预取的外键字典，以及已校验过的ID集合，同一ID在一个任务内只查询一次。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class ImportReferences {
+
+    /**
+     * 字典中名称重复时的占位值
+     */
+    static final Long AMBIGUOUS = Long.MIN_VALUE;
+
+    /**
+     * 单条IN查询的最大ID数
+     */
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private final List<ExcelFieldConfig> fields;
+
+    private final RowBinder binder;
+
+    private final Map<Integer, Map<String, Long>> dictionaries;
+
+    /**
+     * 字段位置 -> {表名, 列名}
+     */
+    private final Map<Integer, String[]> checks;
+
+    private final ExcelDynamicMapper dynamicMapper;
+
+    private final Map<Integer, Set<Long>> existing = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Set<Long>> missing = new ConcurrentHashMap<>();
+
+    ImportReferences(List<ExcelFieldConfig> fields, RowBinder binder, Map<Integer, Map<String, Long>> dictionaries,
+                     Map<Integer, String[]> checks, ExcelDynamicMapper dynamicMapper) {
+        this.fields = fields;
+        this.binder = binder;
+        this.dictionaries = dictionaries;
+        this.checks = checks;
+        this.dynamicMapper = dynamicMapper;
+        for (Integer position : checks.keySet()) {
+            existing.put(position, ConcurrentHashMap.newKeySet());
+            missing.put(position, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * 为外键字段包装转换器：先按名称查字典，未命中再按原转换器转换（兼容直接填写ID）
+     *
+     * @param converters 按字段位置排列的转换器
+     * @return 包装后的转换器
+     */
+    public CellConverter[] decorate(CellConverter[] converters) {
+        if (dictionaries.isEmpty()) {
+            return converters;
+        }
+        CellConverter[] result = converters.clone();
+        for (Map.Entry<Integer, Map<String, Long>> entry : dictionaries.entrySet()) {
+            Map<String, Long> dictionary = entry.getValue();
+            CellConverter fallback = converters[entry.getKey()];
+            result[entry.getKey()] = text -> {
+                Long id = dictionary.get(text.trim());
+                if (id == null) {
+                    return fallback.convert(text);
+                }
+                if (AMBIGUOUS.equals(id)) {
+                    throw new IllegalArgumentException("名称[" + text.trim() + "]对应多条记录，请改填ID");
+                }
+                return id;
+            };
+        }
+        return result;
+    }
+
+    /**
+     * 批量校验分块中的外键ID是否存在
+     *
+     * @param chunk 分块数据
+     * @param result 校验失败的行记入此结果
+     * @return 校验通过的行
+     */
+    public List<ImportRow> verify(List<ImportRow> chunk, ChunkResult result) {
+        if (checks.isEmpty() || chunk.isEmpty()) {
+            return chunk;
+        }
+        for (Map.Entry<Integer, String[]> check : checks.entrySet()) {
+            load(check.getKey(), check.getValue(), chunk);
+        }
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            boolean ok = true;
+            for (Integer position : checks.keySet()) {
+                Object value = binder.get(row.getEntity(), position);
+                if (value instanceof Number && missing.get(position).contains(((Number) value).longValue())) {
+                    result.addError(row.getRowNum(), fields.get(position).getColumnName(), "引用的ID[" + value + "]不存在");
+                    ok = false;
+                    break;
+                }
+            }
+            if (ok) {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * 查询分块中尚未校验过的ID
+     */
+    private void load(int position, String[] target, List<ImportRow> chunk) {
+        Set<Long> known = existing.get(position);
+        Set<Long> absent = missing.get(position);
+        Set<Long> pending = new LinkedHashSet<>();
+        for (ImportRow row : chunk) {
+            Object value = binder.get(row.getEntity(), position);
+            if (value instanceof Number) {
+                Long id = ((Number) value).longValue();
+                if (!known.contains(id) && !absent.contains(id)) {
+                    pending.add(id);
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> batch = new ArrayList<>(Math.min(pending.size(), IN_CHUNK_SIZE));
+        for (Long id : pending) {
+            batch.add(id);
+            if (batch.size() == IN_CHUNK_SIZE) {
+                known.addAll(dynamicMapper.selectExistingIds(target[0], target[1], batch));
+                batch = new ArrayList<>(IN_CHUNK_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            known.addAll(dynamicMapper.selectExistingIds(target[0], target[1], batch));
+        }
+        for (Long id : pending) {
+            if (!known.contains(id)) {
+                absent.add(id);
+            }
+        }
+    }
+}
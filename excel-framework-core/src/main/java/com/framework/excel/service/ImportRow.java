@@ -0,0 +1,33 @@
+package com.framework.excel.service;
+
+/**
+ * 待写入的导入行
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class ImportRow {
+
+    /**
+     * Excel行号（从1开始）
+     */
+    private final int rowNum;
+
+    /**
+     * 已转换的实体对象（分块处理前为原始单元格值数组）
+     */
+    private final Object entity;
+
+    public ImportRow(int rowNum, Object entity) {
+        this.rowNum = rowNum;
+        this.entity = entity;
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+}
@@ -0,0 +1,108 @@
+package com.framework.excel.service;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.framework.excel.config.ExcelConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 导入分块工作线程池
+ * <p>
+ * 线程数为excel.import-parallelism，且不超过Druid连接池max-active减一（为其他请求保留连接），
+ * 每个工作线程同一时刻最多占用一个数据库连接。并行度为1时不创建线程池，分块在调用线程中处理。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class ImportWorkerPool implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportWorkerPool.class);
+
+    private final int parallelism;
+
+    private final ThreadPoolExecutor executor;
+
+    public ImportWorkerPool(ExcelConfig excelConfig, DataSource dataSource) {
+        int configured = Math.max(1, excelConfig.getImportParallelism());
+        int maxActive = maxActive(dataSource);
+        this.parallelism = maxActive > 0 ? Math.max(1, Math.min(configured, maxActive - 1)) : configured;
+        if (parallelism < configured) {
+            logger.warn("excel.import-parallelism={}超过连接池max-active={}，实际并行度为{}", configured, maxActive, parallelism);
+        }
+        this.executor = parallelism > 1 ? newExecutor(parallelism) : null;
+    }
+
+    /**
+     * @return 实际并行度
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return 是否启用并行处理
+     */
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    /**
+     * 提交分块任务
+     *
+     * @param task 任务
+     * @param <T> 结果类型
+     * @return 任务结果
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "excel-import-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // 单个导入任务通过信号量限制在途分块数，队列长度因此受并发导入数约束
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    /**
+     * 获取Druid连接池max-active，非Druid数据源返回-1
+     */
+    static int maxActive(DataSource dataSource) {
+        try {
+            if (dataSource instanceof DruidDataSource) {
+                return ((DruidDataSource) dataSource).getMaxActive();
+            }
+            if (dataSource.isWrapperFor(DruidDataSource.class)) {
+                return dataSource.unwrap(DruidDataSource.class).getMaxActive();
+            }
+        } catch (SQLException e) {
+            logger.debug("无法获取连接池max-active: {}", e.getMessage());
+        }
+        return -1;
+    }
+}
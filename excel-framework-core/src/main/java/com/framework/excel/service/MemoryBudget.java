@@ -0,0 +1,227 @@
+package com.framework.excel.service;
+
+import com.framework.excel.common.FileFormat;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.exception.ExcelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 导入导出内存预算
+ * <p>
+ * 全局加权信号量，以KB为单位：每个导入、导出任务开始前按估算内存占用申请额度，
+ * 额度不足时同步请求排队等待excel.memory-budget-wait毫秒，超时拒绝（429）；异步任务已受excel.job-threads限制，
+ * 不设超时，一直排队到额度可用。单个任务的估算值超过总预算时按总预算申请，
+ * 即独占执行而不是永远无法执行。预算为excel.memory-budget（MB），未配置时取最大堆的1/4。
+ * <p>
+ * 估算只覆盖与数据量相关的主要内存：xlsx共享字符串表、在途分块、任务级键索引、SXSSF行窗口与分区缓冲，
+ * 用于防止多个大任务叠加导致OOM，不是精确的内存计量。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class MemoryBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemoryBudget.class);
+
+    private static final String METRIC_NAME = "excel.memory.budget";
+
+    private static final long UNIT = 1024L;
+
+    /**
+     * 单个单元格（实体属性 + 原始文本）的估算字节数
+     */
+    private static final long CELL_BYTES = 64L;
+
+    /**
+     * 磁盘上每行的估算字节数，用于由文件大小估算行数
+     */
+    private static final long ROW_BYTES_ON_DISK = 64L;
+
+    /**
+     * 任务级每行常驻内存（键索引、错误明细）的估算字节数
+     */
+    private static final long ROW_INDEX_BYTES = 128L;
+
+    /**
+     * xlsx共享字符串表等解析结构相对压缩文件的膨胀倍数
+     */
+    private static final long XLSX_EXPANSION = 4L;
+
+    /**
+     * 每个任务的固定开销（zip缓冲、工作簿结构等）
+     */
+    private static final long BASE_BYTES = 4L * 1024 * 1024;
+
+    private final ExcelConfig excelConfig;
+
+    private final int totalUnits;
+
+    private final long waitMillis;
+
+    private final Semaphore semaphore;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private Counter rejections;
+
+    public MemoryBudget(ExcelConfig excelConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.excelConfig = excelConfig;
+        long configured = excelConfig.getMemoryBudget() != null ? excelConfig.getMemoryBudget() : 0L;
+        long budget = configured > 0 ? configured * 1024 * 1024 : Runtime.getRuntime().maxMemory() / 4;
+        this.totalUnits = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, budget / UNIT));
+        this.waitMillis = Math.max(0L, excelConfig.getMemoryBudgetWait());
+        this.semaphore = new Semaphore(totalUnits, true);
+        meterRegistry.ifAvailable(this::bindMetrics);
+        logger.info("导入导出内存预算{}MB，排队等待上限{}ms", totalUnits / 1024, waitMillis);
+    }
+
+    /**
+     * 估算导入任务的内存占用
+     *
+     * @param fileSize 文件大小（字节）
+     * @param format 文件格式
+     * @param fieldCount 模板字段数
+     * @param parallelism 分块并行度
+     * @return 估算字节数
+     */
+    public long estimateImport(long fileSize, FileFormat format, int fieldCount, int parallelism) {
+        long rows = Math.min(excelConfig.getMaxImportRows(), Math.max(1L, fileSize / ROW_BYTES_ON_DISK));
+        // csv通过内存映射读取，文件内容不占用堆
+        long reader = format == FileFormat.XLSX ? fileSize * XLSX_EXPANSION : 0L;
+        long chunks = (long) (parallelism + 1) * excelConfig.getBatchSize() * fieldCount * CELL_BYTES;
+        return BASE_BYTES + reader + chunks + rows * ROW_INDEX_BYTES;
+    }
+
+    /**
+     * 估算导出任务的内存占用
+     *
+     * @param format 文件格式
+     * @param fieldCount 导出字段数
+     * @param partitions 读取分区数
+     * @return 估算字节数
+     */
+    public long estimateExport(FileFormat format, int fieldCount, int partitions) {
+        long window = format == FileFormat.XLSX ? (long) excelConfig.getExportRowAccessWindow() * fieldCount * CELL_BYTES : 0L;
+        long buffers = partitions > 1
+                ? (long) partitions * excelConfig.getExportPartitionBuffer() * fieldCount * CELL_BYTES : 0L;
+        return BASE_BYTES + window + buffers;
+    }
+
+    /**
+     * 申请内存额度，额度不足时排队等待，超过excel.memory-budget-wait拒绝
+     *
+     * @param task 任务描述（用于日志）
+     * @param bytes 估算字节数
+     * @return 额度许可，任务结束后关闭以归还
+     */
+    public Permit acquire(String task, long bytes) {
+        return acquire(task, bytes, false);
+    }
+
+    /**
+     * 申请内存额度
+     *
+     * @param task 任务描述（用于日志）
+     * @param bytes 估算字节数
+     * @param background 是否为异步任务，异步任务不设等待超时
+     * @return 额度许可，任务结束后关闭以归还
+     */
+    public Permit acquire(String task, long bytes, boolean background) {
+        int units = (int) Math.max(1L, Math.min(totalUnits, (bytes + UNIT - 1) / UNIT));
+        boolean acquired = true;
+        waiting.incrementAndGet();
+        try {
+            if (!background) {
+                acquired = semaphore.tryAcquire(units, waitMillis, TimeUnit.MILLISECONDS);
+            } else if (!semaphore.tryAcquire(units, 0L, TimeUnit.MILLISECONDS)) {
+                logger.info("{}等待内存预算{}KB，当前已用{}KB/{}KB", task, units, getUsedUnits(), totalUnits);
+                semaphore.acquire(units);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelException("等待内存预算被中断", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            if (rejections != null) {
+                rejections.increment();
+            }
+            logger.warn("{}申请内存预算{}KB超时，当前已用{}KB/{}KB", task, units, getUsedUnits(), totalUnits);
+            throw new ExcelException(429, "系统繁忙，导入导出任务过多，请稍后重试");
+        }
+        logger.debug("{}获得内存预算{}KB，当前已用{}KB/{}KB", task, units, getUsedUnits(), totalUnits);
+        return new Permit(units);
+    }
+
+    /**
+     * @return 已占用的预算（字节）
+     */
+    public long getUsedBytes() {
+        return getUsedUnits() * UNIT;
+    }
+
+    /**
+     * @return 总预算（字节）
+     */
+    public long getTotalBytes() {
+        return totalUnits * UNIT;
+    }
+
+    private long getUsedUnits() {
+        return totalUnits - semaphore.availablePermits();
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        Gauge.builder(METRIC_NAME + ".used", this, MemoryBudget::getUsedBytes)
+                .description("导入导出已占用的内存预算")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".limit", this, MemoryBudget::getTotalBytes)
+                .description("导入导出内存预算上限")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".waiting", waiting, AtomicInteger::get)
+                .description("等待内存预算的任务数")
+                .register(registry);
+        this.rejections = Counter.builder(METRIC_NAME + ".rejections")
+                .description("因内存预算不足被拒绝的任务数")
+                .register(registry);
+    }
+
+    /**
+     * 内存额度许可
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final int units;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int units) {
+            this.units = units;
+        }
+
+        /**
+         * 归还额度，重复调用无效
+         */
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release(units);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.framework.excel.service;
+
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.entity.ExcelOperationLog;
+import com.framework.excel.mapper.ExcelOperationLogMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 操作日志异步写入器
+ * <p>
+ * 同步导入、导出与模板下载的操作日志不在请求线程中逐条插入：记录先进入有界无锁队列，
+ * 后台线程每excel.operation-log-flush-interval毫秒、或积压达到excel.operation-log-batch-size条时
+ * 以insertBatch批量写入。队列满时直接丢弃并计数，调用方从不阻塞。应用关闭时写完队列中剩余的记录。
+ * 日志的create_time取记录时间，不受写入延迟影响。字符串字段按列宽截断；批量写入失败时逐条重写，只丢弃写不进去的记录。异步任务需要回填ID，仍由ExcelJobService同步插入。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class OperationLogWriter implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationLogWriter.class);
+
+    private static final String METRIC_NAME = "excel.operation.log";
+
+    /**
+     * excel_operation_log各字符串列的宽度，error_message为TEXT，截断到与任务摘要相近的长度
+     */
+    private static final int TEMPLATE_KEY_WIDTH = 64;
+
+    private static final int OPERATION_TYPE_WIDTH = 32;
+
+    private static final int FILE_NAME_WIDTH = 255;
+
+    private static final int OPERATOR_WIDTH = 64;
+
+    private static final int IP_ADDRESS_WIDTH = 64;
+
+    private static final int USER_AGENT_WIDTH = 512;
+
+    private static final int ERROR_MESSAGE_WIDTH = 4000;
+
+    private final ExcelOperationLogMapper operationLogMapper;
+
+    private final Queue<ExcelOperationLog> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 队列中的记录数，ConcurrentLinkedQueue.size()需要遍历，由计数器限制容量
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * 是否已提交一次按积压量触发的写入，避免每条记录都提交任务
+     */
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final ScheduledExecutorService flusher;
+
+    public OperationLogWriter(ExcelOperationLogMapper operationLogMapper, ExcelConfig excelConfig,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.operationLogMapper = operationLogMapper;
+        this.capacity = Math.max(1, excelConfig.getOperationLogQueueCapacity());
+        this.batchSize = Math.max(1, excelConfig.getOperationLogBatchSize());
+        long interval = Math.max(1L, excelConfig.getOperationLogFlushInterval());
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "excel-operation-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    /**
+     * 记录一条操作日志，不阻塞；队列已满时丢弃
+     *
+     * @param log 操作日志
+     */
+    public void record(ExcelOperationLog log) {
+        truncate(log);
+        if (log.getCreateTime() == null) {
+            log.setCreateTime(new Date());
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            long count = dropped.incrementAndGet();
+            // 按2的幂次记录，避免过载时日志本身刷屏
+            if ((count & (count - 1)) == 0) {
+                logger.warn("操作日志队列已满（容量{}），累计丢弃{}条", capacity, count);
+            }
+            return;
+        }
+        queue.offer(log);
+        if (size.get() >= batchSize && flushPending.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushPending.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return 因队列已满或写入失败而丢弃的记录数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            flusher.shutdownNow();
+        }
+        flush();
+        if (dropped.get() > 0) {
+            logger.info("操作日志写入器关闭，共写入{}条，丢弃{}条", written.get(), dropped.get());
+        }
+    }
+
+    /**
+     * 按批量大小写完队列中的记录，只在写入线程（或关闭时）调用
+     */
+    private synchronized void flush() {
+        flushPending.set(false);
+        List<ExcelOperationLog> batch = new ArrayList<>(batchSize);
+        ExcelOperationLog log;
+        while ((log = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(log);
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    /**
+     * 批量写入，失败时逐条重写，只丢弃写不进去的记录
+     */
+    private void write(List<ExcelOperationLog> batch) {
+        try {
+            operationLogMapper.insertBatch(batch);
+            written.addAndGet(batch.size());
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                dropped.incrementAndGet();
+                logger.warn("操作日志写入失败，丢弃1条: {}", ExceptionUtils.getRootCauseMessage(e));
+                return;
+            }
+            logger.warn("操作日志批量写入失败，逐条重试{}条: {}", batch.size(), ExceptionUtils.getRootCauseMessage(e));
+        }
+        for (ExcelOperationLog log : batch) {
+            write(Collections.singletonList(log));
+        }
+    }
+
+    /**
+     * 按列宽截断字符串字段，避免单条超长记录导致整批INSERT失败
+     */
+    private static void truncate(ExcelOperationLog log) {
+        log.setTemplateKey(StringUtils.abbreviate(log.getTemplateKey(), TEMPLATE_KEY_WIDTH));
+        log.setOperationType(StringUtils.abbreviate(log.getOperationType(), OPERATION_TYPE_WIDTH));
+        log.setFileName(StringUtils.abbreviate(log.getFileName(), FILE_NAME_WIDTH));
+        log.setOperator(StringUtils.abbreviate(log.getOperator(), OPERATOR_WIDTH));
+        log.setIpAddress(StringUtils.abbreviate(log.getIpAddress(), IP_ADDRESS_WIDTH));
+        log.setUserAgent(StringUtils.abbreviate(log.getUserAgent(), USER_AGENT_WIDTH));
+        log.setErrorMessage(StringUtils.abbreviate(log.getErrorMessage(), ERROR_MESSAGE_WIDTH));
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        Gauge.builder(METRIC_NAME + ".queued", size, AtomicInteger::get)
+                .description("等待写入的操作日志数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".written", written, AtomicLong::get)
+                .description("已写入的操作日志数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".dropped", dropped, AtomicLong::get)
+                .description("因队列已满或写入失败而丢弃的操作日志数")
+                .register(registry);
+    }
+}
@@ -0,0 +1,99 @@
+package com.framework.excel.service;
+
+import com.framework.excel.common.PageResult;
+import com.framework.excel.common.PageResult.TotalType;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.util.PageCursor;
+import com.framework.excel.util.QueryParams;
+import com.framework.excel.util.TtlCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 分页查询执行器
+ * <p>
+ * 每页多查询一行判断是否有下一页，总数按请求选择：
+ * <ul>
+ *     <li>EXACT：每次执行countByCondition</li>
+ *     <li>CACHED：按规范化查询条件缓存总数（excel.page-count-cache-time秒）</li>
+ *     <li>ABSENT：不统计总数</li>
+ * </ul>
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class PageQueryExecutor {
+
+    /**
+     * 不参与总数缓存键的分页参数
+     */
+    private static final Set<String> PAGING_PARAMS = new HashSet<>(Arrays.asList(
+            "offset", PageCursor.PARAM_LIMIT, PageCursor.PARAM_TIME, PageCursor.PARAM_ID));
+
+    private final TtlCache<String, Long> countCache;
+
+    public PageQueryExecutor(ExcelConfig excelConfig) {
+        this.countCache = new TtlCache<>(excelConfig.getPageCountCacheTime() * 1000L,
+                excelConfig.getPageCountCacheSize());
+    }
+
+    /**
+     * 执行分页查询
+     *
+     * @param countKey 总数缓存命名空间，如表名
+     * @param params 查询条件
+     * @param pageNum 页码（从1开始）
+     * @param pageSize 每页大小
+     * @param totalType 总数模式，null时为EXACT
+     * @param select 分页查询（selectByPage），使用offset与limit参数
+     * @param count 总数查询（countByCondition）
+     * @param <T> 数据类型
+     * @return 分页结果
+     */
+    public <T> PageResult<T> page(String countKey, Map<String, Object> params, int pageNum, int pageSize,
+                                  TotalType totalType, Function<Map<String, Object>, List<T>> select,
+                                  Function<Map<String, Object>, Long> count) {
+        Map<String, Object> query = params != null ? new HashMap<>(params) : new HashMap<>();
+        TotalType mode = totalType != null ? totalType : TotalType.EXACT;
+        long total = -1;
+        TotalType actual = mode;
+        if (mode == TotalType.EXACT) {
+            total = count.apply(query);
+        } else if (mode == TotalType.CACHED) {
+            String key = cacheKey(countKey, query);
+            Long cached = countCache.getIfPresent(key);
+            if (cached != null) {
+                total = cached;
+            } else {
+                total = count.apply(query);
+                countCache.put(key, total);
+                actual = TotalType.EXACT;
+            }
+        }
+        query.put("offset", (long) (Math.max(pageNum, 1) - 1) * pageSize);
+        query.put(PageCursor.PARAM_LIMIT, pageSize + 1);
+        return PageResult.of(Math.max(pageNum, 1), pageSize, select.apply(query), total, actual);
+    }
+
+    /**
+     * 按命名空间失效总数缓存，数据批量变更（如导入）后调用
+     *
+     * @param countKey 总数缓存命名空间
+     */
+    public void invalidate(String countKey) {
+        String prefix = countKey + "#";
+        countCache.invalidateIf((key, value) -> key.startsWith(prefix));
+    }
+
+    private static String cacheKey(String countKey, Map<String, Object> params) {
+        return countKey + "#" + QueryParams.canonical(params, PAGING_PARAMS);
+    }
+}
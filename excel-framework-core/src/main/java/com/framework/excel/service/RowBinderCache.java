@@ -0,0 +1,62 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.util.RowBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 行绑定器缓存
+ * <p>
+ * 以"模板Key + 字段列表"为键缓存编译结果，模板配置版本变化时重新编译。
+ * 导入（全部字段）与导出（仅可见字段）字段列表不同，分别缓存。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class RowBinderCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowBinderCache.class);
+
+    private final ConcurrentMap<String, RowBinder> binders = new ConcurrentHashMap<>();
+
+    /**
+     * 获取模板对应的行绑定器
+     *
+     * @param template 模板配置
+     * @return 行绑定器
+     */
+    public RowBinder get(ExcelTemplateConfig template) {
+        String key = cacheKey(template);
+        RowBinder binder = binders.get(key);
+        if (binder != null && Objects.equals(binder.getVersion(), template.getVersion())) {
+            return binder;
+        }
+        RowBinder compiled = RowBinder.compile(template);
+        binders.put(key, compiled);
+        logger.debug("模板[{}]行绑定器已编译，版本{}", template.getTemplateKey(), template.getVersion());
+        return compiled;
+    }
+
+    /**
+     * 清除全部绑定器，模板或字段配置变更后调用，避免旧字段列表的绑定器残留；下次使用时重新编译
+     */
+    public void invalidateAll() {
+        binders.clear();
+    }
+
+    private static String cacheKey(ExcelTemplateConfig template) {
+        StringBuilder key = new StringBuilder(template.getTemplateKey()).append('#');
+        for (ExcelFieldConfig field : template.getFields()) {
+            key.append(field.getFieldName()).append(',');
+        }
+        return key.toString();
+    }
+}
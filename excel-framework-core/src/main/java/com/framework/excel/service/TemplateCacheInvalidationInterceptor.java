@@ -0,0 +1,128 @@
+package com.framework.excel.service;
+
+import com.framework.excel.mapper.ExcelFieldConfigMapper;
+import com.framework.excel.mapper.ExcelTemplateConfigMapper;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 模板配置缓存失效拦截器
+ * <p>
+ * 拦截ExcelTemplateConfigMapper、ExcelFieldConfigMapper的增删改语句，从参数中提取模板ID、字段ID，
+ * 只失效受影响模板的缓存条目；无法提取时清空缓存。语句执行后立即失效一次，处于事务中时提交后再失效一次，
+ * 防止提交前被并发请求加载的旧配置留在缓存中。导入模板文件缓存与行绑定器缓存同时清空。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class TemplateCacheInvalidationInterceptor implements Interceptor {
+
+    private static final String TEMPLATE_NAMESPACE = ExcelTemplateConfigMapper.class.getName() + ".";
+
+    private static final String FIELD_NAMESPACE = ExcelFieldConfigMapper.class.getName() + ".";
+
+    private final TemplateConfigCache templateConfigCache;
+
+    private final TemplateDownloadCache templateDownloadCache;
+
+    private final RowBinderCache rowBinderCache;
+
+    public TemplateCacheInvalidationInterceptor(TemplateConfigCache templateConfigCache,
+                                                TemplateDownloadCache templateDownloadCache,
+                                                RowBinderCache rowBinderCache) {
+        this.templateConfigCache = templateConfigCache;
+        this.templateDownloadCache = templateDownloadCache;
+        this.rowBinderCache = rowBinderCache;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementId = statement.getId();
+        boolean template = statementId.startsWith(TEMPLATE_NAMESPACE);
+        if (!template && !statementId.startsWith(FIELD_NAMESPACE)) {
+            return result;
+        }
+
+        Set<Long> templateIds = new LinkedHashSet<>();
+        Set<Long> fieldIds = new LinkedHashSet<>();
+        Object parameter = invocation.getArgs()[1];
+        collect(statement, parameter, "templateId", templateIds);
+        collect(statement, parameter, "id", template ? templateIds : fieldIds);
+        collect(statement, parameter, "ids", template ? templateIds : fieldIds);
+        collect(statement, parameter, "list", templateIds);
+
+        Runnable invalidation = () -> invalidate(templateIds, fieldIds);
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+        return result;
+    }
+
+    private void invalidate(Set<Long> templateIds, Set<Long> fieldIds) {
+        templateDownloadCache.invalidateAll();
+        rowBinderCache.invalidateAll();
+        if (templateIds.isEmpty() && fieldIds.isEmpty()) {
+            templateConfigCache.invalidateAll();
+            return;
+        }
+        // 字段只带ID时无法确定所属模板，按字段ID失效；带模板ID时按模板失效
+        for (Long templateId : templateIds) {
+            templateConfigCache.invalidateTemplate(templateId);
+        }
+        for (Long fieldId : fieldIds) {
+            templateConfigCache.invalidateField(fieldId);
+        }
+    }
+
+    /**
+     * 从语句参数中提取ID，支持单个实体、@Param参数Map以及ID集合/实体集合
+     */
+    private static void collect(MappedStatement statement, Object parameter, String name, Set<Long> target) {
+        if (parameter == null) {
+            return;
+        }
+        Object value;
+        if (parameter instanceof Map) {
+            Map<?, ?> params = (Map<?, ?>) parameter;
+            value = params.containsKey(name) ? params.get(name) : null;
+        } else {
+            MetaObject metaObject = statement.getConfiguration().newMetaObject(parameter);
+            value = metaObject.hasGetter(name) ? metaObject.getValue(name) : null;
+        }
+        if (value instanceof Number) {
+            target.add(((Number) value).longValue());
+        } else if (value instanceof Collection) {
+            for (Object item : (Collection<?>) value) {
+                if (item instanceof Number) {
+                    target.add(((Number) item).longValue());
+                } else if (item != null) {
+                    // 批量插入等实体集合，字段实体按模板ID失效
+                    collect(statement, item, "templateId", target);
+                }
+            }
+        }
+    }
+}
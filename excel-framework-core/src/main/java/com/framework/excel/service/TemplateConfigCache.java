@@ -0,0 +1,140 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.util.TtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 模板配置缓存
+ * <p>
+ * 缓存组装完成的运行时模板配置，存活时间为excel.template-cache-time，excel.enable-cache=false时直接穿透。
+ * 每个条目记录模板ID与字段ID，供{@link TemplateCacheInvalidationInterceptor}在配置变更时精确失效。
+ * 缓存中的配置为共享对象，调用方不得修改。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class TemplateConfigCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateConfigCache.class);
+
+    private static final String METRIC_NAME = "excel.template.cache";
+
+    private final boolean enabled;
+
+    private final TtlCache<String, CachedTemplate> cache;
+
+    public TemplateConfigCache(ExcelConfig excelConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = !Boolean.FALSE.equals(excelConfig.getEnableCache());
+        this.cache = new TtlCache<>(excelConfig.getTemplateCacheTime() * 1000L, excelConfig.getTemplateCacheSize());
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    /**
+     * 获取模板配置，未命中时加载
+     *
+     * @param cacheKey 缓存键
+     * @param loader 加载函数
+     * @return 模板配置
+     */
+    public ExcelTemplateConfig get(String cacheKey, Supplier<CachedTemplate> loader) {
+        if (!enabled) {
+            return loader.get().getConfig();
+        }
+        return cache.get(cacheKey, key -> loader.get()).getConfig();
+    }
+
+    /**
+     * 按模板ID失效
+     *
+     * @param templateId 模板ID
+     */
+    public void invalidateTemplate(Long templateId) {
+        int removed = cache.invalidateIf((key, value) -> value.getTemplateId().equals(templateId));
+        logger.debug("模板ID[{}]配置变更，失效{}个缓存条目", templateId, removed);
+    }
+
+    /**
+     * 按字段配置ID失效
+     *
+     * @param fieldId 字段配置ID
+     */
+    public void invalidateField(Long fieldId) {
+        int removed = cache.invalidateIf((key, value) -> value.getFieldIds().contains(fieldId));
+        logger.debug("字段ID[{}]配置变更，失效{}个缓存条目", fieldId, removed);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long hitCount() {
+        return cache.hitCount();
+    }
+
+    public long missCount() {
+        return cache.missCount();
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME + ".gets", cache, TtlCache::hitCount)
+                .tag("result", "hit")
+                .description("模板配置缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".gets", cache, TtlCache::missCount)
+                .tag("result", "miss")
+                .description("模板配置缓存未命中次数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".evictions", cache, TtlCache::evictionCount)
+                .description("模板配置缓存淘汰次数")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".size", cache, TtlCache::size)
+                .description("模板配置缓存条目数")
+                .register(registry);
+    }
+
+    /**
+     * 缓存条目
+     */
+    public static final class CachedTemplate {
+
+        private final ExcelTemplateConfig config;
+
+        private final Long templateId;
+
+        private final Set<Long> fieldIds;
+
+        public CachedTemplate(ExcelTemplateConfig config, Long templateId, Set<Long> fieldIds) {
+            this.config = config;
+            this.templateId = templateId;
+            this.fieldIds = Collections.unmodifiableSet(fieldIds);
+        }
+
+        public ExcelTemplateConfig getConfig() {
+            return config;
+        }
+
+        public Long getTemplateId() {
+            return templateId;
+        }
+
+        public Set<Long> getFieldIds() {
+            return fieldIds;
+        }
+    }
+}
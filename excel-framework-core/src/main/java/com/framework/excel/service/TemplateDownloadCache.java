@@ -0,0 +1,96 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.util.TtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 导入模板文件缓存
+ * <p>
+ * 以"模板Key + 字段列表"为键缓存生成好的xlsx字节，模板配置版本变化时重新生成；
+ * {@link TemplateCacheInvalidationInterceptor}在模板、字段配置变更时清空。
+ * 模板中包含下拉选项，条目存活时间与下拉选项缓存一致（excel.dropdown-cache-time），
+ * excel.enable-cache=false时直接穿透。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class TemplateDownloadCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateDownloadCache.class);
+
+    private final boolean enabled;
+
+    private final TtlCache<String, Rendered> cache;
+
+    public TemplateDownloadCache(ExcelConfig excelConfig) {
+        this.enabled = !Boolean.FALSE.equals(excelConfig.getEnableCache());
+        this.cache = new TtlCache<>(excelConfig.getDropdownCacheTime() * 1000L, excelConfig.getTemplateCacheSize());
+    }
+
+    /**
+     * @return 是否启用缓存
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 获取模板文件字节，未命中或版本变化时生成
+     *
+     * @param template 模板配置
+     * @param renderer 生成函数
+     * @return xlsx文件字节，调用方不得修改
+     */
+    public byte[] get(ExcelTemplateConfig template, Supplier<byte[]> renderer) {
+        if (!enabled) {
+            return renderer.get();
+        }
+        String key = cacheKey(template);
+        Rendered rendered = cache.getIfPresent(key);
+        if (rendered == null || !Objects.equals(rendered.version, template.getVersion())) {
+            rendered = new Rendered(template.getVersion(), renderer.get());
+            cache.put(key, rendered);
+        }
+        return rendered.bytes;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        logger.debug("模板配置变更，导入模板文件缓存已清空");
+    }
+
+    private static String cacheKey(ExcelTemplateConfig template) {
+        StringBuilder key = new StringBuilder(template.getTemplateKey()).append('#');
+        for (ExcelFieldConfig field : template.getFields()) {
+            key.append(field.getFieldName()).append(',');
+        }
+        return key.toString();
+    }
+
+    /**
+     * 已生成的模板文件
+     */
+    private static final class Rendered {
+
+        private final Long version;
+
+        private final byte[] bytes;
+
+        private Rendered(Long version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+}
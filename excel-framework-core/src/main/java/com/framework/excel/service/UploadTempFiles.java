@@ -0,0 +1,193 @@
+package com.framework.excel.service;
+
+import com.framework.excel.common.FileFormat;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.exception.ExcelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上传临时文件管理
+ * <p>
+ * 上传内容直接落盘到excel.temp-dir下的import-*临时文件，解析器以只读方式从磁盘打开，堆内存占用与文件大小无关：
+ * multipart上传由容器写入磁盘后transferTo移动；原始请求体经NIO通道分段transferFrom写入文件。
+ * 使用中的文件登记在内存中，调用方在finally中{@link #delete(File)}；
+ * 后台清理线程每excel.temp-file-clean-interval分钟删除未登记且超过excel.temp-file-max-age分钟的import-*文件
+ * （进程异常退出等遗留的孤儿文件）。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@Component
+public class UploadTempFiles implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadTempFiles.class);
+
+    private static final String PREFIX = "import-";
+
+    /**
+     * 单次transferFrom的最大字节数
+     */
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final File directory;
+
+    private final long maxUploadBytes;
+
+    private final long maxAgeMillis;
+
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService janitor;
+
+    public UploadTempFiles(ExcelConfig excelConfig) {
+        this.directory = new File(excelConfig.getTempDir());
+        this.maxUploadBytes = excelConfig.getMaxUploadSize() * 1024 * 1024;
+        this.maxAgeMillis = excelConfig.getTempFileMaxAge() * 60 * 1000;
+        long interval = Math.max(1L, excelConfig.getTempFileCleanInterval());
+        this.janitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "excel-temp-janitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        janitor.scheduleWithFixedDelay(this::clean, interval, interval, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 创建并登记空临时文件
+     *
+     * @param fileName 原始文件名，用于识别格式
+     * @return 临时文件，使用完毕后调用{@link #delete(File)}
+     */
+    public File create(String fileName) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new ExcelException("无法创建临时目录: " + directory.getAbsolutePath());
+        }
+        try {
+            File tempFile = File.createTempFile(PREFIX, FileFormat.fromFileName(fileName).getExtension(), directory);
+            active.add(tempFile.getName());
+            return tempFile;
+        } catch (IOException e) {
+            throw new ExcelException("创建临时文件失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 保存multipart上传文件
+     *
+     * @param file 上传文件
+     * @return 临时文件，使用完毕后调用{@link #delete(File)}
+     */
+    public File save(MultipartFile file) {
+        File tempFile = create(file.getOriginalFilename());
+        try {
+            file.transferTo(tempFile);
+            return tempFile;
+        } catch (IOException e) {
+            delete(tempFile);
+            throw new ExcelException("保存上传文件失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 将请求体流式写入临时文件
+     *
+     * @param in 请求体输入流（不会被关闭）
+     * @param fileName 原始文件名，用于识别格式
+     * @return 临时文件，使用完毕后调用{@link #delete(File)}
+     */
+    public File receive(InputStream in, String fileName) {
+        File tempFile = create(fileName);
+        long start = System.currentTimeMillis();
+        long position = 0;
+        try (FileChannel target = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(in);
+            long transferred;
+            while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+                if (position > maxUploadBytes) {
+                    throw new ExcelException(413, "上传文件超过" + maxUploadBytes / 1024 / 1024 + "MB");
+                }
+            }
+        } catch (IOException e) {
+            delete(tempFile);
+            throw new ExcelException("保存上传文件失败: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            delete(tempFile);
+            throw e;
+        }
+        if (position == 0) {
+            delete(tempFile);
+            throw new ExcelException(400, "上传内容为空");
+        }
+        logger.debug("上传文件{}写入{}字节，耗时{}ms", fileName, position, System.currentTimeMillis() - start);
+        return tempFile;
+    }
+
+    /**
+     * 删除临时文件并取消登记
+     *
+     * @param tempFile 临时文件，可为null
+     */
+    public void delete(File tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        if (tempFile.exists() && !tempFile.delete()) {
+            logger.warn("临时文件删除失败: {}", tempFile.getAbsolutePath());
+        }
+        active.remove(tempFile.getName());
+    }
+
+    /**
+     * @return 单个上传文件的最大字节数
+     */
+    public long getMaxUploadBytes() {
+        return maxUploadBytes;
+    }
+
+    @Override
+    public void destroy() {
+        janitor.shutdownNow();
+    }
+
+    /**
+     * 清理孤儿临时文件
+     */
+    private void clean() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX));
+        if (files == null) {
+            return;
+        }
+        long expireBefore = System.currentTimeMillis() - maxAgeMillis;
+        int deleted = 0;
+        for (File file : files) {
+            if (file.isFile() && !active.contains(file.getName()) && file.lastModified() < expireBefore) {
+                if (file.delete()) {
+                    deleted++;
+                } else {
+                    logger.warn("孤儿临时文件删除失败: {}", file.getAbsolutePath());
+                }
+            }
+        }
+        if (deleted > 0) {
+            logger.info("清理孤儿临时文件{}个", deleted);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.framework.excel.util;
+
+/**
+ * 单元格转换器
+ * 按字段预先编译，读取时对每个单元格直接调用，不再按DataType分支查找
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface CellConverter {
+
+    /**
+     * 转换单元格文本
+     *
+     * @param text 单元格文本
+     * @return 转换后的值，空文本返回null
+     * @throws IllegalArgumentException 文本无法转换时抛出
+     */
+    Object convert(String text);
+}
@@ -0,0 +1,121 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单元格样式注册表
+ * <p>
+ * 一个工作簿一个实例。xlsx单个工作簿最多约64000个样式，逐单元格创建样式既慢又会在宽表导出时溢出，
+ * 因此按（数据类型、日期/数字格式、表头是否必填）组合创建样式，相同组合的列共享同一个CellStyle。
+ * 列宽属于sheet列属性，由写入器通过setColumnWidth设置，不占用样式。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class CellStyleRegistry {
+
+    private final Workbook workbook;
+
+    private final DataFormat dataFormat;
+
+    private final Map<String, CellStyle> styles = new HashMap<>();
+
+    public CellStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+        this.dataFormat = workbook.createDataFormat();
+    }
+
+    /**
+     * 按字段顺序解析数据单元格样式
+     *
+     * @param fields 字段配置
+     * @return 按字段位置排列的样式，无需格式的字段为null
+     */
+    public CellStyle[] dataStyles(List<ExcelFieldConfig> fields) {
+        CellStyle[] result = new CellStyle[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            result[i] = dataStyle(fields.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 按字段顺序解析表头样式
+     *
+     * @param fields 字段配置
+     * @return 按字段位置排列的表头样式
+     */
+    public CellStyle[] headerStyles(List<ExcelFieldConfig> fields) {
+        CellStyle[] result = new CellStyle[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            result[i] = headerStyle(Boolean.TRUE.equals(fields.get(i).getRequired()));
+        }
+        return result;
+    }
+
+    /**
+     * 数据单元格样式
+     *
+     * @param field 字段配置
+     * @return 样式，无需格式的字段为null
+     */
+    public CellStyle dataStyle(ExcelFieldConfig field) {
+        String format = formatOf(field);
+        if (format == null) {
+            return null;
+        }
+        return styles.computeIfAbsent("data|" + format, key -> {
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(dataFormat.getFormat(format));
+            return style;
+        });
+    }
+
+    /**
+     * 表头样式：加粗，必填列为红色字体
+     *
+     * @param required 是否必填
+     * @return 样式
+     */
+    public CellStyle headerStyle(boolean required) {
+        return styles.computeIfAbsent("header|" + required, key -> {
+            Font font = workbook.createFont();
+            font.setBold(true);
+            if (required) {
+                font.setColor(IndexedColors.RED.getIndex());
+            }
+            CellStyle style = workbook.createCellStyle();
+            style.setFont(font);
+            return style;
+        });
+    }
+
+    /**
+     * @return 已创建的样式数
+     */
+    public int size() {
+        return styles.size();
+    }
+
+    private static String formatOf(ExcelFieldConfig field) {
+        DataType dataType = field.getDataType();
+        if (dataType == DataType.DATE || dataType == DataType.DATETIME) {
+            return field.getDateFormat() != null ? field.getDateFormat() : DataConverter.CANONICAL_DATE_TIME_PATTERN;
+        }
+        if (dataType == DataType.INTEGER || dataType == DataType.LONG || dataType == DataType.DOUBLE
+                || dataType == DataType.BIG_DECIMAL) {
+            return field.getNumberFormat();
+        }
+        return null;
+    }
+}
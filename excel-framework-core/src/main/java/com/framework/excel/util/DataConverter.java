@@ -0,0 +1,234 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.DataType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * 单元格数据转换器
+ * 将Excel中读取到的文本按DataType转换为Java对象
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public final class DataConverter {
+
+    /**
+     * 读取日期单元格时统一输出的格式
+     */
+    public static final String CANONICAL_DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private static final DateTimeFormatter CANONICAL_FORMATTER = DateTimeFormatter.ofPattern(CANONICAL_DATE_TIME_PATTERN);
+
+    private static final DateTimeFormatter ISO_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private DataConverter() {
+    }
+
+    /**
+     * 按数据类型转换文本
+     *
+     * @param raw 原始文本
+     * @param dataType 数据类型
+     * @param dateFormat 日期格式（仅日期类型使用）
+     * @return 转换后的值，空文本返回null
+     * @throws IllegalArgumentException 文本无法转换为目标类型时抛出
+     */
+    public static Object convert(String raw, DataType dataType, String dateFormat) {
+        return compile(dataType, dateFormat).convert(raw);
+    }
+
+    /**
+     * 编译字段转换器，日期格式等在此一次性解析
+     *
+     * @param dataType 数据类型
+     * @param dateFormat 日期格式（仅日期类型使用）
+     * @return 单元格转换器
+     */
+    public static CellConverter compile(DataType dataType, String dateFormat) {
+        if (dataType == null) {
+            return DataConverter::trimToNull;
+        }
+        switch (dataType) {
+            case INTEGER:
+                return DataConverter::toInteger;
+            case LONG:
+                return DataConverter::toLong;
+            case DOUBLE:
+                return DataConverter::toDouble;
+            case BIG_DECIMAL:
+                return DataConverter::toBigDecimal;
+            case BOOLEAN:
+                return DataConverter::toBoolean;
+            case DATE:
+            case DATETIME:
+                DateTimeFormatter formatter = dateFormat != null && !dateFormat.isEmpty()
+                        ? DateTimeFormatter.ofPattern(dateFormat) : null;
+                String pattern = formatter != null ? dateFormat : CANONICAL_DATE_TIME_PATTERN;
+                return text -> toDate(text, formatter, pattern);
+            case STRING:
+            default:
+                return DataConverter::trimToNull;
+        }
+    }
+
+    /**
+     * 获取数据类型对应的Java类型
+     *
+     * @param dataType 数据类型
+     * @return Java类型
+     */
+    public static Class<?> javaType(DataType dataType) {
+        if (dataType == null) {
+            return String.class;
+        }
+        switch (dataType) {
+            case INTEGER:
+                return Integer.class;
+            case LONG:
+                return Long.class;
+            case DOUBLE:
+                return Double.class;
+            case BIG_DECIMAL:
+                return BigDecimal.class;
+            case BOOLEAN:
+                return Boolean.class;
+            case DATE:
+            case DATETIME:
+                return Date.class;
+            case STRING:
+            default:
+                return String.class;
+        }
+    }
+
+    /**
+     * 将日期时间格式化为统一格式
+     *
+     * @param dateTime 日期时间
+     * @return 格式化文本
+     */
+    public static String formatCanonical(LocalDateTime dateTime) {
+        return CANONICAL_FORMATTER.format(dateTime);
+    }
+
+    /**
+     * 去除首尾空白，无空白时不产生新字符串
+     */
+    private static String trimToNull(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String text = raw.trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static Integer toInteger(String raw) {
+        String text = trimToNull(raw);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            try {
+                return new BigDecimal(text).intValueExact();
+            } catch (ArithmeticException | NumberFormatException ex) {
+                throw new IllegalArgumentException("无法将[" + text + "]转换为INTEGER");
+            }
+        }
+    }
+
+    private static Long toLong(String raw) {
+        String text = trimToNull(raw);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(text);
+        } catch (NumberFormatException e) {
+            try {
+                return new BigDecimal(text).longValueExact();
+            } catch (ArithmeticException | NumberFormatException ex) {
+                throw new IllegalArgumentException("无法将[" + text + "]转换为LONG");
+            }
+        }
+    }
+
+    private static Double toDouble(String raw) {
+        String text = trimToNull(raw);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无法将[" + text + "]转换为DOUBLE");
+        }
+    }
+
+    private static BigDecimal toBigDecimal(String raw) {
+        String text = trimToNull(raw);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无法将[" + text + "]转换为BIG_DECIMAL");
+        }
+    }
+
+    private static Boolean toBoolean(String raw) {
+        String text = trimToNull(raw);
+        if (text == null) {
+            return null;
+        }
+        if ("1".equals(text) || "是".equals(text) || "true".equalsIgnoreCase(text)
+                || "y".equalsIgnoreCase(text) || "yes".equalsIgnoreCase(text)) {
+            return Boolean.TRUE;
+        }
+        if ("0".equals(text) || "否".equals(text) || "false".equalsIgnoreCase(text)
+                || "n".equalsIgnoreCase(text) || "no".equalsIgnoreCase(text)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("无法将[" + text + "]转换为BOOLEAN");
+    }
+
+    private static Date toDate(String raw, DateTimeFormatter formatter, String pattern) {
+        String text = trimToNull(raw);
+        if (text == null) {
+            return null;
+        }
+        Date date = formatter != null ? tryParse(text, formatter) : null;
+        if (date == null) {
+            date = tryParse(text, CANONICAL_FORMATTER);
+        }
+        if (date == null) {
+            date = tryParse(text, ISO_DATE_FORMATTER);
+        }
+        if (date == null) {
+            throw new IllegalArgumentException("日期[" + text + "]不符合格式" + pattern);
+        }
+        return date;
+    }
+
+    private static Date tryParse(String text, DateTimeFormatter formatter) {
+        try {
+            TemporalAccessor parsed = formatter.parseBest(text, LocalDateTime::from, LocalDate::from);
+            LocalDateTime dateTime = parsed instanceof LocalDateTime
+                    ? (LocalDateTime) parsed
+                    : ((LocalDate) parsed).atStartOfDay();
+            return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.framework.excel.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 摘要工具类
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public final class Digests {
+
+    private Digests() {
+    }
+
+    /**
+     * @return 新的SHA-256摘要实例
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 计算文本的SHA-256
+     *
+     * @param source 文本（UTF-8）
+     * @return 小写十六进制串
+     */
+    public static String sha256Hex(String source) {
+        return hex(sha256().digest(source.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 转为小写十六进制串
+     *
+     * @param bytes 字节
+     * @return 十六进制串
+     */
+    public static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
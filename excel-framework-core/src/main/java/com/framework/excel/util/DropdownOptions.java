@@ -0,0 +1,60 @@
+package com.framework.excel.util;
+
+import com.example.excel.provider.DropdownOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 下拉选项及其显示文本索引
+ * <p>
+ * 构建时一次性建立"显示文本 -> 选项值"的哈希索引，导入时按显示文本O(1)反查选项值。
+ * 显示文本重复时保留第一个选项。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public final class DropdownOptions {
+
+    private static final Logger logger = LoggerFactory.getLogger(DropdownOptions.class);
+
+    private final List<DropdownOption> options;
+
+    private final Map<String, Object> valueByDisplay;
+
+    public DropdownOptions(List<DropdownOption> options) {
+        this.options = options != null ? options : Collections.<DropdownOption>emptyList();
+        this.valueByDisplay = new HashMap<>(Math.max(16, this.options.size() * 4 / 3 + 1));
+        for (DropdownOption option : this.options) {
+            if (option.getDisplay() == null || option.getValue() == null) {
+                continue;
+            }
+            Object previous = valueByDisplay.putIfAbsent(option.getDisplay().trim(), option.getValue());
+            if (previous != null) {
+                logger.warn("下拉选项显示文本重复[{}]，保留值{}", option.getDisplay(), previous);
+            }
+        }
+    }
+
+    /**
+     * @return 选项列表
+     */
+    public List<DropdownOption> getOptions() {
+        return options;
+    }
+
+    /**
+     * @return 显示文本到选项值的索引（只读）
+     */
+    public Map<String, Object> getValueByDisplay() {
+        return Collections.unmodifiableMap(valueByDisplay);
+    }
+
+    public int size() {
+        return options.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.framework.excel.util;
+
+import com.example.excel.provider.DropdownOption;
+import org.apache.poi.ss.usermodel.DataValidation;
+import org.apache.poi.ss.usermodel.DataValidationHelper;
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.ss.util.CellReference;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 下拉数据写入器
+ * <p>
+ * 每组选项只在隐藏的查找表中写一次并定义名称，数据列的数据验证引用该名称，
+ * 不受内联列表255字符的限制，多个列共用同一组选项时也只写一份。
+ * 查找表按行写入（每行包含各组选项的同一序号），兼容SXSSF的顺序写入。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class DropdownSheetWriter {
+
+    /**
+     * 隐藏查找表名称
+     */
+    public static final String LOOKUP_SHEET_NAME = "_lookup";
+
+    private static final String NAME_PREFIX = "DD_";
+
+    private final Workbook workbook;
+
+    private final Sheet target;
+
+    /**
+     * 缓存键 -> 查找表列
+     */
+    private final Map<String, Integer> columnsByKey = new LinkedHashMap<>();
+
+    private final List<List<DropdownOption>> lookupColumns = new ArrayList<>();
+
+    /**
+     * 数据列 -> 查找表列
+     */
+    private final Map<Integer, Integer> validations = new LinkedHashMap<>();
+
+    public DropdownSheetWriter(Workbook workbook, Sheet target) {
+        this.workbook = workbook;
+        this.target = target;
+    }
+
+    /**
+     * 为数据列登记下拉选项
+     *
+     * @param column 数据列索引
+     * @param key 选项缓存键，相同键的选项只写一次；为null时单独写入
+     * @param options 选项
+     */
+    public void addDropdown(int column, String key, List<DropdownOption> options) {
+        if (options == null || options.isEmpty()) {
+            return;
+        }
+        Integer lookupColumn = key != null ? columnsByKey.get(key) : null;
+        if (lookupColumn == null) {
+            lookupColumn = lookupColumns.size();
+            lookupColumns.add(options);
+            if (key != null) {
+                columnsByKey.put(key, lookupColumn);
+            }
+        }
+        validations.put(column, lookupColumn);
+    }
+
+    /**
+     * 写出查找表、名称和数据验证
+     *
+     * @param firstRow 数据验证起始行
+     * @param lastRow 数据验证结束行
+     */
+    public void write(int firstRow, int lastRow) {
+        if (validations.isEmpty()) {
+            return;
+        }
+        Sheet lookup = workbook.createSheet(LOOKUP_SHEET_NAME);
+        int maxSize = 0;
+        for (List<DropdownOption> options : lookupColumns) {
+            maxSize = Math.max(maxSize, options.size());
+        }
+        for (int rowIndex = 0; rowIndex < maxSize; rowIndex++) {
+            Row row = lookup.createRow(rowIndex);
+            for (int column = 0; column < lookupColumns.size(); column++) {
+                List<DropdownOption> options = lookupColumns.get(column);
+                if (rowIndex < options.size() && options.get(rowIndex).getDisplay() != null) {
+                    row.createCell(column).setCellValue(options.get(rowIndex).getDisplay());
+                }
+            }
+        }
+        for (int column = 0; column < lookupColumns.size(); column++) {
+            Name name = workbook.createName();
+            name.setNameName(NAME_PREFIX + column);
+            String letter = CellReference.convertNumToColString(column);
+            name.setRefersToFormula("'" + LOOKUP_SHEET_NAME + "'!$" + letter + "$1:$" + letter + "$"
+                    + lookupColumns.get(column).size());
+        }
+        workbook.setSheetHidden(workbook.getSheetIndex(lookup), true);
+
+        DataValidationHelper helper = target.getDataValidationHelper();
+        for (Map.Entry<Integer, Integer> entry : validations.entrySet()) {
+            DataValidation validation = helper.createValidation(
+                    helper.createFormulaListConstraint(NAME_PREFIX + entry.getValue()),
+                    new CellRangeAddressList(firstRow, lastRow, entry.getKey(), entry.getKey()));
+            validation.setEmptyCellAllowed(true);
+            validation.setSuppressDropDownArrow(true);
+            validation.setShowErrorBox(true);
+            target.addValidationData(validation);
+        }
+    }
+}
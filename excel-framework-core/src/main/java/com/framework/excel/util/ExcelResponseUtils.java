@@ -0,0 +1,72 @@
+package com.framework.excel.util;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+/**
+ * 文件下载响应工具类
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public final class ExcelResponseUtils {
+
+    /**
+     * xlsx文件类型
+     */
+    public static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private ExcelResponseUtils() {
+    }
+
+    /**
+     * 设置附件下载响应头
+     *
+     * @param response HTTP响应
+     * @param fileName 文件名（支持中文）
+     * @param contentType 文件类型
+     */
+    public static void setDownloadHeaders(HttpServletResponse response, String fileName, String contentType) {
+        response.setContentType(contentType);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment;filename*=UTF-8''" + encode(fileName));
+    }
+
+    /**
+     * 设置ETag并按If-None-Match判断客户端缓存是否仍然有效，有效时响应304
+     *
+     * @param request HTTP请求
+     * @param response HTTP响应
+     * @param etag 实体标签（不含引号）
+     * @return 是否已响应304
+     */
+    public static boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, String etag) {
+        String quoted = "\"" + etag + "\"";
+        response.setHeader("ETag", quoted);
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || quoted.equals(tag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String encode(String fileName) {
+        try {
+            return URLEncoder.encode(fileName, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.exception.ExcelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 基于内存映射的CSV读取器
+ * <p>
+ * 以FileChannel.map只读映射上传的临时文件，直接在映射区上按字节扫描RFC 4180记录：
+ * 分隔符、引号与换行均为ASCII，不会出现在UTF-8多字节序列中，因此无需先整体解码。
+ * 只有模板配置的列才解码为字符串，列映射与单元格转换规则与{@link StreamingExcelReader}一致。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class MappedCsvReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedCsvReader.class);
+
+    private final ExcelTemplateConfig template;
+
+    private final List<ExcelFieldConfig> fields;
+
+    private final int maxRows;
+
+    private final int headerRows;
+
+    /**
+     * 列索引到字段位置的映射，-1表示该列未配置
+     */
+    private final int[] columnToField;
+
+    /**
+     * 按字段位置排列的单元格转换器
+     */
+    private final CellConverter[] converters;
+
+    /**
+     * 字段字节缓冲，按需扩容
+     */
+    private byte[] scratch = new byte[256];
+
+    public MappedCsvReader(ExcelTemplateConfig template, CellConverter[] converters, int maxRows) {
+        this(template, converters, maxRows, StreamingExcelReader.DEFAULT_HEADER_ROWS);
+    }
+
+    public MappedCsvReader(ExcelTemplateConfig template, CellConverter[] converters, int maxRows, int headerRows) {
+        if (template == null || template.getFields() == null || template.getFields().isEmpty()) {
+            throw new ExcelException(400, "模板字段配置为空");
+        }
+        this.template = template;
+        this.fields = template.getFields();
+        this.maxRows = maxRows;
+        this.headerRows = headerRows;
+        this.columnToField = StreamingExcelReader.buildColumnMapping(fields);
+        this.converters = converters != null ? converters : StreamingExcelReader.compileConverters(fields);
+    }
+
+    /**
+     * 读取CSV文件
+     *
+     * @param file UTF-8编码的CSV文件（可带BOM）
+     * @param handler 行回调
+     * @return 读取结果
+     */
+    public StreamingExcelReader.ReadSummary read(File file, RowHandler handler) {
+        long start = System.currentTimeMillis();
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ExcelException(400, "CSV文件超过2GB，无法导入: " + file.getName());
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new ExcelException("读取CSV文件失败: " + e.getMessage(), e);
+        }
+        StreamingExcelReader.ReadSummary summary = parse(buffer, handler);
+        if (summary.isTruncated()) {
+            logger.warn("模板[{}]导入超过最大行数{}，已停止读取", template.getTemplateKey(), maxRows);
+        }
+        logger.debug("模板[{}]CSV读取{}行，耗时{}ms", template.getTemplateKey(), summary.getRowCount(),
+                System.currentTimeMillis() - start);
+        return summary;
+    }
+
+    private StreamingExcelReader.ReadSummary parse(MappedByteBuffer buffer, RowHandler handler) {
+        int limit = buffer.limit();
+        int pos = skipBom(buffer, limit);
+        int record = 0;
+        int dataRows = 0;
+        while (pos < limit) {
+            boolean header = record < headerRows;
+            Object[] values = header ? null : new Object[fields.size()];
+            boolean rowHasData = false;
+            int column = 0;
+            while (true) {
+                int position = values != null && column < columnToField.length ? columnToField[column] : -1;
+                int length;
+                if (pos < limit && buffer.get(pos) == '"') {
+                    length = 0;
+                    pos++;
+                    while (true) {
+                        if (pos >= limit) {
+                            throw new ExcelException(400, "第" + (record + 1) + "行引号未闭合");
+                        }
+                        byte b = buffer.get(pos++);
+                        if (b == '"') {
+                            if (pos < limit && buffer.get(pos) == '"') {
+                                pos++;
+                            } else {
+                                break;
+                            }
+                        }
+                        if (position >= 0) {
+                            append(length++, b);
+                        }
+                    }
+                    // 容错：忽略闭合引号与分隔符之间的内容
+                    while (pos < limit && !isDelimiter(buffer.get(pos))) {
+                        pos++;
+                    }
+                } else {
+                    int begin = pos;
+                    while (pos < limit && !isDelimiter(buffer.get(pos))) {
+                        pos++;
+                    }
+                    length = pos - begin;
+                    if (position >= 0) {
+                        for (int i = 0; i < length; i++) {
+                            append(i, buffer.get(begin + i));
+                        }
+                    }
+                }
+                if (position >= 0 && length > 0) {
+                    String text = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                    rowHasData = true;
+                    try {
+                        values[position] = converters[position].convert(text);
+                    } catch (IllegalArgumentException e) {
+                        handler.onError(record + 1, fields.get(position), text, e.getMessage());
+                    }
+                }
+                column++;
+                if (pos >= limit) {
+                    break;
+                }
+                byte delimiter = buffer.get(pos++);
+                if (delimiter == ',') {
+                    continue;
+                }
+                if (delimiter == '\r' && pos < limit && buffer.get(pos) == '\n') {
+                    pos++;
+                }
+                break;
+            }
+            record++;
+            if (values == null || !rowHasData) {
+                continue;
+            }
+            if (dataRows >= maxRows) {
+                return new StreamingExcelReader.ReadSummary(dataRows, true);
+            }
+            dataRows++;
+            handler.handle(record, values);
+        }
+        return new StreamingExcelReader.ReadSummary(dataRows, false);
+    }
+
+    private void append(int index, byte b) {
+        if (index == scratch.length) {
+            scratch = Arrays.copyOf(scratch, scratch.length * 2);
+        }
+        scratch[index] = b;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '\n' || b == '\r';
+    }
+
+    private static int skipBom(MappedByteBuffer buffer, int limit) {
+        if (limit >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB
+                && (buffer.get(2) & 0xFF) == 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,119 @@
+package com.framework.excel.util;
+
+import com.framework.excel.exception.ExcelException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 键集分页游标
+ * <p>
+ * 记录上一页最后一行的(create_time, id)或id，下一页以WHERE (create_time, id) &lt; (?, ?)定位，
+ * 无论翻到第几页都只扫描一页数据。对外以Base64URL编码的不透明字符串传递。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public final class PageCursor {
+
+    /**
+     * 游标时间参数名
+     */
+    public static final String PARAM_TIME = "cursorTime";
+
+    /**
+     * 游标ID参数名
+     */
+    public static final String PARAM_ID = "cursorId";
+
+    /**
+     * 查询行数参数名
+     */
+    public static final String PARAM_LIMIT = "limit";
+
+    private final Date createTime;
+
+    private final Long id;
+
+    private PageCursor(Date createTime, Long id) {
+        this.createTime = createTime;
+        this.id = id;
+    }
+
+    /**
+     * 生成(create_time, id)游标
+     *
+     * @param createTime 最后一行的创建时间
+     * @param id 最后一行的ID
+     * @return 游标字符串
+     */
+    public static String encode(Date createTime, Long id) {
+        return encodeText(createTime.getTime() + "," + id);
+    }
+
+    /**
+     * 生成id游标
+     *
+     * @param id 最后一行的ID
+     * @return 游标字符串
+     */
+    public static String encode(Long id) {
+        return encodeText(String.valueOf(id));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标字符串
+     * @return 游标，cursor为空时返回null（第一页）
+     * @throws ExcelException 游标无法解析时抛出
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = text.indexOf(',');
+            if (comma < 0) {
+                return new PageCursor(null, Long.valueOf(text));
+            }
+            return new PageCursor(new Date(Long.parseLong(text.substring(0, comma))),
+                    Long.valueOf(text.substring(comma + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ExcelException(400, "无效的分页游标: " + cursor);
+        }
+    }
+
+    /**
+     * 将游标与页大小写入查询参数，多查询一行用于判断是否有下一页
+     *
+     * @param params 查询参数
+     * @param cursor 游标字符串，为空时查询第一页
+     * @param pageSize 每页大小
+     * @return 查询参数
+     */
+    public static Map<String, Object> apply(Map<String, Object> params, String cursor, int pageSize) {
+        PageCursor decoded = decode(cursor);
+        if (decoded != null) {
+            params.put(PARAM_TIME, decoded.createTime);
+            params.put(PARAM_ID, decoded.id);
+        }
+        params.put(PARAM_LIMIT, pageSize + 1);
+        return params;
+    }
+
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    private static String encodeText(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
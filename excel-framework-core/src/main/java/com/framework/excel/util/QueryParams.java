@@ -0,0 +1,50 @@
+package com.framework.excel.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 查询参数规范化
+ * 用于由查询条件生成缓存键：忽略空值与指定参数，按参数名排序
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public final class QueryParams {
+
+    private QueryParams() {
+    }
+
+    /**
+     * 规范化查询条件
+     *
+     * @param params 查询条件，可为null
+     * @return 规范化文本，如{name=abc, status=1}
+     */
+    public static String canonical(Map<String, Object> params) {
+        return canonical(params, Collections.<String>emptySet());
+    }
+
+    /**
+     * 规范化查询条件
+     *
+     * @param params 查询条件，可为null
+     * @param ignored 不参与比较的参数名（如分页参数）
+     * @return 规范化文本，如{name=abc, status=1}
+     */
+    public static String canonical(Map<String, Object> params, Set<String> ignored) {
+        Map<String, Object> normalized = new TreeMap<>();
+        if (params != null) {
+            for (Map.Entry<String, Object> entry : params.entrySet()) {
+                Object value = entry.getValue();
+                if (value == null || "".equals(value) || ignored.contains(entry.getKey())) {
+                    continue;
+                }
+                normalized.put(entry.getKey(), value);
+            }
+        }
+        return normalized.toString();
+    }
+}
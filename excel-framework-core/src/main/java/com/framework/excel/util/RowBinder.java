@@ -0,0 +1,286 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.exception.ExcelException;
+import org.apache.commons.lang3.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 模板行绑定器
+ * <p>
+ * 每个模板编译一次：字段名解析为LambdaMetafactory生成的getter/setter，DataType解析为单元格转换器。
+ * 绑定单元格时直接按字段位置调用，不再有反射查找和类型分支，热点路径除值本身外不分配对象。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public final class RowBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowBinder.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final String templateKey;
+
+    private final Long version;
+
+    private final Supplier<Object> constructor;
+
+    private final Function<Object, Object>[] getters;
+
+    private final BiConsumer<Object, Object>[] setters;
+
+    private final CellConverter[] converters;
+
+    private RowBinder(String templateKey, Long version, Supplier<Object> constructor,
+                      Function<Object, Object>[] getters, BiConsumer<Object, Object>[] setters,
+                      CellConverter[] converters) {
+        this.templateKey = templateKey;
+        this.version = version;
+        this.constructor = constructor;
+        this.getters = getters;
+        this.setters = setters;
+        this.converters = converters;
+    }
+
+    /**
+     * 编译模板绑定器
+     *
+     * @param template 模板配置
+     * @return 绑定器
+     */
+    @SuppressWarnings("unchecked")
+    public static RowBinder compile(ExcelTemplateConfig template) {
+        Class<?> beanType = template.getEntityClass();
+        List<ExcelFieldConfig> fields = template.getFields();
+        Map<String, PropertyDescriptor> properties = describe(beanType);
+
+        Function<Object, Object>[] getters = new Function[fields.size()];
+        BiConsumer<Object, Object>[] setters = new BiConsumer[fields.size()];
+        CellConverter[] converters = new CellConverter[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            ExcelFieldConfig field = fields.get(i);
+            converters[i] = DataConverter.compile(field.getDataType(), field.getDateFormat());
+            PropertyDescriptor property = properties.get(field.getFieldName());
+            if (property == null) {
+                logger.warn("模板[{}]字段[{}]在{}中不存在，导入导出时忽略", template.getTemplateKey(),
+                        field.getFieldName(), beanType.getSimpleName());
+                continue;
+            }
+            if (property.getReadMethod() != null) {
+                getters[i] = getter(property.getReadMethod());
+            }
+            if (property.getWriteMethod() != null) {
+                setters[i] = adapt(setter(property.getWriteMethod()),
+                        DataConverter.javaType(field.getDataType()), property.getPropertyType(), field);
+            }
+        }
+        return new RowBinder(template.getTemplateKey(), template.getVersion(), constructor(beanType),
+                getters, setters, converters);
+    }
+
+    /**
+     * 创建实体实例
+     *
+     * @return 实体对象
+     */
+    public Object newInstance() {
+        return constructor.get();
+    }
+
+    /**
+     * 设置字段值
+     *
+     * @param bean 实体对象
+     * @param position 字段位置
+     * @param value 已转换的值
+     * @throws IllegalArgumentException 数值无法无损转换为属性类型
+     */
+    public void set(Object bean, int position, Object value) {
+        BiConsumer<Object, Object> setter = setters[position];
+        if (setter != null && value != null) {
+            setter.accept(bean, value);
+        }
+    }
+
+    /**
+     * 读取字段值
+     *
+     * @param bean 实体对象
+     * @param position 字段位置
+     * @return 字段值
+     */
+    public Object get(Object bean, int position) {
+        Function<Object, Object> getter = getters[position];
+        return getter != null ? getter.apply(bean) : null;
+    }
+
+    /**
+     * @return 按字段位置排列的单元格转换器
+     */
+    public CellConverter[] getConverters() {
+        return converters;
+    }
+
+    public String getTemplateKey() {
+        return templateKey;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    private static Map<String, PropertyDescriptor> describe(Class<?> beanType) {
+        try {
+            BeanInfo beanInfo = Introspector.getBeanInfo(beanType, Object.class);
+            Map<String, PropertyDescriptor> properties = new HashMap<>();
+            for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
+                properties.put(property.getName(), property);
+            }
+            return properties;
+        } catch (IntrospectionException e) {
+            throw new ExcelException("解析实体类失败: " + beanType.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> constructor(Class<?> beanType) {
+        try {
+            MethodHandle handle = LOOKUP.findConstructor(beanType, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle,
+                    MethodType.methodType(beanType));
+            return (Supplier<Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new ExcelException("实体类缺少公共无参构造方法: " + beanType.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(ClassUtils.primitiveToWrapper(method.getReturnType()), method.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new ExcelException("编译属性读取方法失败: " + method, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(),
+                            ClassUtils.primitiveToWrapper(method.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new ExcelException("编译属性写入方法失败: " + method, e);
+        }
+    }
+
+    private static Integer toInteger(Number value) {
+        try {
+            return value instanceof Long ? Math.toIntExact((Long) value) : toBigDecimal(value).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("数值" + value + "超出整数范围或含有小数");
+        }
+    }
+
+    private static Long toLong(Number value) {
+        try {
+            return toBigDecimal(value).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("数值" + value + "超出长整数范围或含有小数");
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = value.doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                throw new ArithmeticException("非有限数值");
+            }
+            return BigDecimal.valueOf(number);
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * 转换器输出类型与属性类型不一致时，在编译期决定适配方式
+     */
+    private static BiConsumer<Object, Object> adapt(BiConsumer<Object, Object> setter, Class<?> valueType,
+                                                    Class<?> propertyType, ExcelFieldConfig field) {
+        Class<?> target = ClassUtils.primitiveToWrapper(propertyType);
+        if (target.isAssignableFrom(valueType)) {
+            return setter;
+        }
+        if (target == String.class) {
+            return (bean, value) -> setter.accept(bean, value.toString());
+        }
+        if (Number.class.isAssignableFrom(valueType)) {
+            // 整数属性只接受无损转换，溢出或含小数时抛出IllegalArgumentException，由调用方记为行错误
+            if (target == Integer.class) {
+                return (bean, value) -> setter.accept(bean, toInteger((Number) value));
+            }
+            if (target == Long.class) {
+                return (bean, value) -> setter.accept(bean, toLong((Number) value));
+            }
+            if (target == Double.class) {
+                return (bean, value) -> setter.accept(bean, ((Number) value).doubleValue());
+            }
+            if (target == BigDecimal.class) {
+                return (bean, value) -> setter.accept(bean, new BigDecimal(value.toString()));
+            }
+        }
+        if (valueType == Date.class) {
+            if (target == LocalDateTime.class) {
+                return (bean, value) -> setter.accept(bean,
+                        LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()));
+            }
+            if (target == LocalDate.class) {
+                return (bean, value) -> setter.accept(bean,
+                        LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()).toLocalDate());
+            }
+        }
+        throw new ExcelException(400, "字段[" + field.getFieldName() + "]数据类型" + field.getDataType()
+                + "与属性类型" + propertyType.getSimpleName() + "不兼容");
+    }
+}
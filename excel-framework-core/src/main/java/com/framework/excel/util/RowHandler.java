@@ -0,0 +1,33 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.ExcelFieldConfig;
+
+/**
+ * 行数据回调接口
+ * 流式读取时每解析完一行即回调一次，读取器本身不缓存任何行
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public interface RowHandler {
+
+    /**
+     * 处理一行数据
+     *
+     * @param rowNum Excel中的行号（从1开始）
+     * @param values 按模板字段顺序排列的已转换值，转换失败的单元格为null
+     */
+    void handle(int rowNum, Object[] values);
+
+    /**
+     * 单元格转换失败回调
+     *
+     * @param rowNum Excel中的行号（从1开始）
+     * @param field 字段配置
+     * @param rawValue 原始文本
+     * @param message 错误信息
+     */
+    default void onError(int rowNum, ExcelFieldConfig field, String rawValue, String message) {
+        // 默认忽略
+    }
+}
@@ -0,0 +1,75 @@
+package com.framework.excel.util;
+
+import com.framework.excel.exception.ExcelException;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL标识符校验
+ * 动态SQL中以${}拼接的表名、列名必须先经过校验
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public final class SqlIdentifiers {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,63}");
+
+    private SqlIdentifiers() {
+    }
+
+    /**
+     * 校验表名或列名
+     *
+     * @param identifier 标识符
+     * @return 原标识符
+     * @throws ExcelException 标识符非法时抛出
+     */
+    public static String require(String identifier) {
+        if (identifier == null || !IDENTIFIER.matcher(identifier).matches()) {
+            throw new ExcelException(400, "非法的SQL标识符: " + identifier);
+        }
+        return identifier;
+    }
+
+    /**
+     * 将实体属性名转换为下划线列名并校验，如faultCode -> fault_code
+     *
+     * @param property 属性名
+     * @return 列名
+     * @throws ExcelException 转换结果非法时抛出
+     */
+    public static String column(String property) {
+        if (property == null) {
+            throw new ExcelException(400, "非法的SQL标识符: null");
+        }
+        StringBuilder column = new StringBuilder(property.length() + 4);
+        for (int i = 0; i < property.length(); i++) {
+            char c = property.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    column.append('_');
+                }
+                column.append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
+        }
+        return require(column.toString());
+    }
+
+    /**
+     * 校验模板配置中的过滤条件，禁止语句分隔符与注释
+     *
+     * @param whereClause 过滤条件
+     * @return 原过滤条件
+     * @throws ExcelException 条件非法时抛出
+     */
+    public static String requireCondition(String whereClause) {
+        if (whereClause != null && (whereClause.contains(";") || whereClause.contains("--")
+                || whereClause.contains("/*"))) {
+            throw new ExcelException(400, "非法的过滤条件: " + whereClause);
+        }
+        return whereClause;
+    }
+}
@@ -0,0 +1,205 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 流式CSV写入器
+ * <p>
+ * 按模板字段顺序输出UTF-8（带BOM，便于Excel识别编码）RFC 4180格式文本，
+ * 经缓冲Writer直接写入目标输出流，不经过工作簿模型与临时文件。
+ * 日期按字段dateFormat格式化，与导入时的转换规则一致。
+ * 开启公式防护时，以=、+、-、@、制表符或回车开头的文本值前加单引号，防止Excel将用户填写的内容作为公式执行；
+ * 数值与日期不受影响。防护会改变导出值且导入不会去除单引号，默认关闭，仅面向人工用Excel打开的导出开启。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class StreamingCsvWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final char UTF8_BOM = '\uFEFF';
+
+    /**
+     * 电子表格会按公式解释的首字符
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final Writer writer;
+
+    private final List<ExcelFieldConfig> fields;
+
+    private final RowBinder binder;
+
+    /**
+     * 按字段位置预先创建的日期格式，非日期字段为null
+     */
+    private final DateTimeFormatter[] dateFormatters;
+
+    private boolean formulaGuard;
+
+    private int rowCount;
+
+    /**
+     * @param template 模板配置
+     * @param binder 行绑定器
+     * @param out 输出流（不会被关闭）
+     * @throws IOException 写出失败
+     */
+    public StreamingCsvWriter(ExcelTemplateConfig template, RowBinder binder, OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.fields = template.getFields();
+        this.binder = binder;
+        this.dateFormatters = createDateFormatters(fields);
+        writer.write(UTF8_BOM);
+        writeHeader();
+    }
+
+    /**
+     * 设置是否为可能被解释为公式的文本加单引号前缀，默认关闭
+     *
+     * @param formulaGuard 是否开启公式防护
+     */
+    public void setFormulaGuard(boolean formulaGuard) {
+        this.formulaGuard = formulaGuard;
+    }
+
+    /**
+     * 写入一行数据
+     *
+     * @param bean 模板实体类对象
+     * @throws IOException 写出失败
+     */
+    public void writeRow(Object bean) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = binder.get(bean, i);
+            if (value instanceof String) {
+                writeField(formulaGuard ? neutralize((String) value) : (String) value);
+            } else if (value != null) {
+                writeField(format(value, i));
+            }
+        }
+        writer.write("\r\n");
+        rowCount++;
+    }
+
+    /**
+     * 刷出缓冲区
+     *
+     * @throws IOException 写出失败
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * @return 已写入的数据行数（不含表头）
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    private void writeHeader() throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields.get(i).getColumnName());
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 公式注入防护：可能被电子表格解释为公式的文本加单引号前缀
+     */
+    private static String neutralize(String text) {
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            return "'" + text;
+        }
+        return text;
+    }
+
+    private String format(Object value, int position) {
+        if (value instanceof Date) {
+            return formatDate(LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()), position);
+        }
+        if (value instanceof LocalDateTime) {
+            return formatDate((LocalDateTime) value, position);
+        }
+        if (value instanceof LocalDate) {
+            return formatDate(((LocalDate) value).atStartOfDay(), position);
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return number == Math.rint(number) && !Double.isInfinite(number) && Math.abs(number) < 1e15
+                    ? Long.toString((long) number) : BigDecimal.valueOf(number).toPlainString();
+        }
+        return value.toString();
+    }
+
+    private String formatDate(LocalDateTime dateTime, int position) {
+        DateTimeFormatter formatter = dateFormatters[position];
+        return formatter != null ? formatter.format(dateTime) : DataConverter.formatCanonical(dateTime);
+    }
+
+    /**
+     * 按RFC 4180输出字段：包含逗号、引号、换行或首尾空白时加引号，引号双写
+     */
+    private void writeField(String text) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        boolean quote = text.charAt(0) == ' ' || text.charAt(text.length() - 1) == ' ';
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static DateTimeFormatter[] createDateFormatters(List<ExcelFieldConfig> fields) {
+        DateTimeFormatter[] formatters = new DateTimeFormatter[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            ExcelFieldConfig field = fields.get(i);
+            if (field.getDataType() == DataType.DATE || field.getDataType() == DataType.DATETIME) {
+                formatters[i] = DateTimeFormatter.ofPattern(field.getDateFormat() != null
+                        ? field.getDateFormat() : DataConverter.CANONICAL_DATE_TIME_PATTERN);
+            }
+        }
+        return formatters;
+    }
+}
@@ -0,0 +1,361 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.exception.ExcelException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 基于XSSF事件模型的流式Excel读取器
+ * <p>
+ * 通过SAX逐行解析sheet XML，按ExcelFieldConfig的columnIndex/dataType/dateFormat
+ * 直接将单元格映射为字段值，不构建XSSFWorkbook，内存占用与文件大小无关。
+ * 读取到maxRows行数据后立即停止解析。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class StreamingExcelReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingExcelReader.class);
+
+    /**
+     * 默认表头行数
+     */
+    public static final int DEFAULT_HEADER_ROWS = 1;
+
+    private final ExcelTemplateConfig template;
+
+    private final List<ExcelFieldConfig> fields;
+
+    private final int maxRows;
+
+    private final int headerRows;
+
+    /**
+     * 列索引到字段位置的映射，-1表示该列未配置
+     */
+    private final int[] columnToField;
+
+    /**
+     * 按字段位置排列的单元格转换器
+     */
+    private final CellConverter[] converters;
+
+    public StreamingExcelReader(ExcelTemplateConfig template, int maxRows) {
+        this(template, maxRows, DEFAULT_HEADER_ROWS);
+    }
+
+    public StreamingExcelReader(ExcelTemplateConfig template, int maxRows, int headerRows) {
+        this(template, null, maxRows, headerRows);
+    }
+
+    public StreamingExcelReader(ExcelTemplateConfig template, CellConverter[] converters, int maxRows) {
+        this(template, converters, maxRows, DEFAULT_HEADER_ROWS);
+    }
+
+    public StreamingExcelReader(ExcelTemplateConfig template, CellConverter[] converters, int maxRows, int headerRows) {
+        if (template == null || template.getFields() == null || template.getFields().isEmpty()) {
+            throw new ExcelException(400, "模板字段配置为空");
+        }
+        this.template = template;
+        this.fields = template.getFields();
+        this.maxRows = maxRows;
+        this.headerRows = headerRows;
+        this.columnToField = buildColumnMapping(fields);
+        this.converters = converters != null ? converters : compileConverters(fields);
+    }
+
+    /**
+     * 从磁盘文件读取（只读方式打开，不加载到内存）
+     *
+     * @param file xlsx文件
+     * @param handler 行回调
+     * @return 读取结果
+     */
+    public ReadSummary read(File file, RowHandler handler) {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new ExcelException(400, "无法识别的Excel文件: " + file.getName(), e);
+        }
+        try {
+            return read(pkg, handler);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * 从输入流读取
+     * <p>
+     * 注意：OPCPackage需要随机访问zip条目，输入流方式会缓冲压缩包内容，大文件优先使用{@link #read(File, RowHandler)}
+     *
+     * @param inputStream xlsx输入流
+     * @param handler 行回调
+     * @return 读取结果
+     */
+    public ReadSummary read(InputStream inputStream, RowHandler handler) {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(inputStream);
+        } catch (InvalidFormatException | IOException e) {
+            throw new ExcelException(400, "无法识别的Excel文件", e);
+        }
+        try {
+            return read(pkg, handler);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * 从已打开的OPCPackage读取
+     *
+     * @param pkg OPC包
+     * @param handler 行回调
+     * @return 读取结果
+     */
+    public ReadSummary read(OPCPackage pkg, RowHandler handler) {
+        long start = System.currentTimeMillis();
+        SheetHandler sheetHandler = new SheetHandler(handler);
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            try (InputStream sheet = selectSheet((XSSFReader.SheetIterator) reader.getSheetsData())) {
+                if (sheet == null) {
+                    throw new ExcelException(400, "Excel文件中没有工作表");
+                }
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, sheetHandler, new RawValueFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (StopReadingException e) {
+            // 达到最大行数，提前结束
+        } catch (SAXException e) {
+            if (!(e.getException() instanceof StopReadingException)) {
+                throw new ExcelException(400, "解析Excel文件失败: " + e.getMessage(), e);
+            }
+        } catch (IOException | OpenXML4JException | ParserConfigurationException e) {
+            throw new ExcelException("读取Excel文件失败: " + e.getMessage(), e);
+        }
+        ReadSummary summary = new ReadSummary(sheetHandler.dataRows, sheetHandler.truncated);
+        if (summary.isTruncated()) {
+            logger.warn("模板[{}]导入超过最大行数{}，已停止读取", template.getTemplateKey(), maxRows);
+        }
+        logger.debug("模板[{}]流式读取{}行，耗时{}ms", template.getTemplateKey(), summary.getRowCount(),
+                System.currentTimeMillis() - start);
+        return summary;
+    }
+
+    private InputStream selectSheet(XSSFReader.SheetIterator sheets) throws IOException {
+        String sheetName = template.getSheetName();
+        InputStream first = null;
+        while (sheets.hasNext()) {
+            InputStream stream = sheets.next();
+            if (sheetName != null && sheetName.equals(sheets.getSheetName())) {
+                if (first != null) {
+                    first.close();
+                }
+                return stream;
+            }
+            if (first == null) {
+                first = stream;
+            } else {
+                stream.close();
+            }
+        }
+        return first;
+    }
+
+    static int[] buildColumnMapping(List<ExcelFieldConfig> fields) {
+        int maxColumn = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            maxColumn = Math.max(maxColumn, columnOf(fields.get(i), i));
+        }
+        int[] mapping = new int[maxColumn + 1];
+        Arrays.fill(mapping, -1);
+        for (int i = 0; i < fields.size(); i++) {
+            mapping[columnOf(fields.get(i), i)] = i;
+        }
+        return mapping;
+    }
+
+    static CellConverter[] compileConverters(List<ExcelFieldConfig> fields) {
+        CellConverter[] converters = new CellConverter[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            converters[i] = DataConverter.compile(fields.get(i).getDataType(), fields.get(i).getDateFormat());
+        }
+        return converters;
+    }
+
+    private static int columnOf(ExcelFieldConfig field, int position) {
+        return field.getColumnIndex() != null ? field.getColumnIndex() : position;
+    }
+
+    /**
+     * 解析单元格引用中的列索引，如"AB12"返回27
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * sheet内容回调，只持有当前行
+     */
+    private final class SheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler delegate;
+
+        private int currentRow = -1;
+
+        private int lastColumn = -1;
+
+        private Object[] values;
+
+        private boolean rowHasData;
+
+        private int dataRows;
+
+        private boolean truncated;
+
+        private SheetHandler(RowHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = rowNum;
+            lastColumn = -1;
+            rowHasData = false;
+            values = rowNum < headerRows ? null : new Object[fields.size()];
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (values == null || !rowHasData) {
+                values = null;
+                return;
+            }
+            if (dataRows >= maxRows) {
+                truncated = true;
+                throw StopReadingException.INSTANCE;
+            }
+            dataRows++;
+            Object[] row = values;
+            values = null;
+            delegate.handle(rowNum + 1, row);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? columnIndex(cellReference) : lastColumn + 1;
+            lastColumn = column;
+            if (values == null || column < 0 || column >= columnToField.length) {
+                return;
+            }
+            int position = columnToField[column];
+            if (position < 0 || formattedValue == null || formattedValue.isEmpty()) {
+                return;
+            }
+            rowHasData = true;
+            try {
+                values[position] = converters[position].convert(formattedValue);
+            } catch (IllegalArgumentException e) {
+                delegate.onError(currentRow + 1, fields.get(position), formattedValue, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 输出原始数值的格式化器
+     * 数字按原值输出（避免千分位、小数位等显示格式造成精度丢失），日期统一输出为标准格式
+     */
+    private static final class RawValueFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DataConverter.formatCanonical(DateUtil.getLocalDateTime(value, use1904Windowing));
+            }
+            return NumberToTextConverter.toText(value);
+        }
+    }
+
+    /**
+     * 提前终止解析的信号，不填充堆栈
+     */
+    private static final class StopReadingException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final StopReadingException INSTANCE = new StopReadingException();
+
+        private StopReadingException() {
+            super("stop reading", null, false, false);
+        }
+    }
+
+    /**
+     * 读取结果
+     */
+    public static final class ReadSummary {
+
+        private final int rowCount;
+
+        private final boolean truncated;
+
+        public ReadSummary(int rowCount, boolean truncated) {
+            this.rowCount = rowCount;
+            this.truncated = truncated;
+        }
+
+        /**
+         * @return 已回调的数据行数
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * @return 是否因超过最大行数而提前停止
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.common.CompressionLevel;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 基于SXSSF的流式Excel写入器
+ * <p>
+ * 内存中只保留rowAccessWindow行，其余行刷写到临时文件，导出行数不影响堆内存。
+ * 按模板字段顺序依次输出列，使用完毕后必须close以删除临时文件。
+ * 单元格样式在创建时经{@link CellStyleRegistry}按列一次性解析，写入数据时只引用，不再创建样式。
+ * 字符串默认以内联字符串写入，临时文件与内存不随不同文本的数量增长；
+ * 启用共享字符串表时重复文本只存一份，文件更小，但字符串表常驻内存。
+ * 输出时可选择zip压缩级别；输出可能超过4GB时应启用zip64（流式输出无法事后回填条目大小）。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class StreamingExcelWriter implements Closeable {
+
+    private final ConfigurableWorkbook workbook;
+
+    private final SXSSFSheet sheet;
+
+    private final List<ExcelFieldConfig> fields;
+
+    private final RowBinder binder;
+
+    private final CellStyleRegistry styleRegistry;
+
+    /**
+     * 按字段位置解析的数据样式，无需格式的字段为null
+     */
+    private final CellStyle[] dataStyles;
+
+    private int rowIndex;
+
+    public StreamingExcelWriter(ExcelTemplateConfig template, int rowAccessWindow) {
+        this(template, RowBinder.compile(template), rowAccessWindow);
+    }
+
+    public StreamingExcelWriter(ExcelTemplateConfig template, RowBinder binder, int rowAccessWindow) {
+        this(template, binder, rowAccessWindow, false);
+    }
+
+    /**
+     * @param template 模板配置
+     * @param binder 行绑定器
+     * @param rowAccessWindow 内存中保留的行数
+     * @param sharedStrings 是否使用共享字符串表，false时写入内联字符串
+     */
+    public StreamingExcelWriter(ExcelTemplateConfig template, RowBinder binder, int rowAccessWindow,
+                                boolean sharedStrings) {
+        this.workbook = new ConfigurableWorkbook(rowAccessWindow, sharedStrings);
+        this.sheet = workbook.createSheet(template.getSheetName() != null ? template.getSheetName() : "Sheet1");
+        this.fields = template.getFields();
+        this.binder = binder;
+        this.styleRegistry = new CellStyleRegistry(workbook);
+        this.dataStyles = styleRegistry.dataStyles(fields);
+        writeHeader();
+    }
+
+    /**
+     * 写入一行数据
+     *
+     * @param bean 模板实体类对象
+     */
+    public void writeRow(Object bean) {
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = binder.get(bean, i);
+            if (value != null) {
+                setCellValue(row.createCell(i), value, i);
+            }
+        }
+    }
+
+    /**
+     * 创建作用于数据sheet的下拉数据写入器
+     *
+     * @return 下拉数据写入器
+     */
+    public DropdownSheetWriter newDropdownWriter() {
+        return new DropdownSheetWriter(workbook, sheet);
+    }
+
+    /**
+     * 设置输出压缩级别，须在write之前调用
+     *
+     * @param compression 压缩级别，null时为默认级别
+     */
+    public void setCompression(CompressionLevel compression) {
+        workbook.level = compression != null ? compression.getLevel() : CompressionLevel.DEFAULT.getLevel();
+    }
+
+    /**
+     * 设置是否总是写入zip64扩展，须在write之前调用
+     *
+     * @param zip64 true时支持超过4GB的输出
+     */
+    public void setZip64(boolean zip64) {
+        workbook.setZip64Mode(zip64 ? Zip64Mode.Always : Zip64Mode.AsNeeded);
+    }
+
+    /**
+     * 输出工作簿
+     *
+     * @param out 输出流（不会被关闭）
+     * @throws IOException 写出失败
+     */
+    public void write(OutputStream out) throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    /**
+     * @return 已写入的数据行数（不含表头）
+     */
+    public int getRowCount() {
+        return rowIndex - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void writeHeader() {
+        CellStyle[] headerStyles = styleRegistry.headerStyles(fields);
+        Row header = sheet.createRow(rowIndex++);
+        for (int i = 0; i < fields.size(); i++) {
+            ExcelFieldConfig field = fields.get(i);
+            Cell cell = header.createCell(i);
+            cell.setCellValue(field.getColumnName());
+            cell.setCellStyle(headerStyles[i]);
+            if (field.getWidth() != null) {
+                sheet.setColumnWidth(i, Math.min(field.getWidth(), 255) * 256);
+            }
+        }
+    }
+
+    private void setCellValue(Cell cell, Object value, int position) {
+        if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Date) {
+            cell.setCellValue((Date) value);
+        } else if (value instanceof LocalDateTime) {
+            cell.setCellValue((LocalDateTime) value);
+        } else if (value instanceof LocalDate) {
+            cell.setCellValue((LocalDate) value);
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else {
+            cell.setCellValue(value.toString());
+            return;
+        }
+        if (dataStyles[position] != null) {
+            cell.setCellStyle(dataStyles[position]);
+        }
+    }
+
+    /**
+     * 可设置zip压缩级别的SXSSF工作簿
+     */
+    private static final class ConfigurableWorkbook extends SXSSFWorkbook {
+
+        private int level = CompressionLevel.DEFAULT.getLevel();
+
+        private ConfigurableWorkbook(int rowAccessWindow, boolean sharedStrings) {
+            super((XSSFWorkbook) null, rowAccessWindow, true, sharedStrings);
+        }
+
+        @Override
+        protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) throws IOException {
+            ZipArchiveOutputStream zos = super.createArchiveOutputStream(out);
+            zos.setLevel(level);
+            return zos;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.framework.excel.util;
+
+import com.alibaba.fastjson2.JSONWriter;
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 流式NDJSON写入器
+ * <p>
+ * 每行输出一个JSON对象（键为模板字段名，值为空的字段省略），对象之间以换行分隔，无表头。
+ * 复用同一个fastjson2 UTF-8 JSONWriter缓冲，每行写完即刷入64KB缓冲输出流，内存占用与行数无关。
+ * 日期按字段dateFormat格式化，与CSV导出、导入时的转换规则一致。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+public class StreamingJsonWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+
+    private final JSONWriter jsonWriter;
+
+    private final List<ExcelFieldConfig> fields;
+
+    private final RowBinder binder;
+
+    /**
+     * 按字段位置预先创建的日期格式，非日期字段为null
+     */
+    private final DateTimeFormatter[] dateFormatters;
+
+    private int rowCount;
+
+    /**
+     * @param template 模板配置
+     * @param binder 行绑定器
+     * @param out 输出流（不会被关闭）
+     */
+    public StreamingJsonWriter(ExcelTemplateConfig template, RowBinder binder, OutputStream out) {
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        this.jsonWriter = JSONWriter.ofUTF8();
+        this.fields = template.getFields();
+        this.binder = binder;
+        this.dateFormatters = new DateTimeFormatter[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            ExcelFieldConfig field = fields.get(i);
+            if (field.getDataType() == DataType.DATE || field.getDataType() == DataType.DATETIME) {
+                dateFormatters[i] = DateTimeFormatter.ofPattern(field.getDateFormat() != null
+                        ? field.getDateFormat() : DataConverter.CANONICAL_DATE_TIME_PATTERN);
+            }
+        }
+    }
+
+    /**
+     * 写入一行数据
+     *
+     * @param bean 模板实体类对象
+     * @throws IOException 写出失败
+     */
+    public void writeRow(Object bean) throws IOException {
+        jsonWriter.startObject();
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = binder.get(bean, i);
+            if (value == null) {
+                continue;
+            }
+            jsonWriter.writeName(fields.get(i).getFieldName());
+            jsonWriter.writeColon();
+            writeValue(value, i);
+        }
+        jsonWriter.endObject();
+        jsonWriter.flushTo(out);
+        out.write('\n');
+        rowCount++;
+    }
+
+    /**
+     * 刷出缓冲区
+     *
+     * @throws IOException 写出失败
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * @return 已写入的行数
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 释放JSONWriter缓冲，不关闭输出流
+     */
+    @Override
+    public void close() {
+        jsonWriter.close();
+    }
+
+    private void writeValue(Object value, int position) {
+        if (value instanceof Date) {
+            writeDate(LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()), position);
+        } else if (value instanceof LocalDateTime) {
+            writeDate((LocalDateTime) value, position);
+        } else if (value instanceof LocalDate) {
+            writeDate(((LocalDate) value).atStartOfDay(), position);
+        } else if (value instanceof BigDecimal) {
+            jsonWriter.writeDecimal((BigDecimal) value);
+        } else if (value instanceof String) {
+            jsonWriter.writeString((String) value);
+        } else {
+            jsonWriter.writeAny(value);
+        }
+    }
+
+    private void writeDate(LocalDateTime dateTime, int position) {
+        DateTimeFormatter formatter = dateFormatters[position];
+        jsonWriter.writeString(formatter != null ? formatter.format(dateTime) : DataConverter.formatCanonical(dateTime));
+    }
+}
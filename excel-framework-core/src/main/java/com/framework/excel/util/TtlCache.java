@@ -0,0 +1,187 @@
+package com.framework.excel.util;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * 有界TTL并发缓存
+ * <p>
+ * 条目写入后经过ttl过期；条目数超过上限时先清理过期条目，再按过期时间淘汰最早的条目。
+ * 加载期间发生的失效会使该次加载结果不被缓存，避免失效前的旧数据在失效后重新写入。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author Framework
+ * @since 1.0.0
+ */
+public class TtlCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final long ttlMillis;
+
+    private final int maxSize;
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param ttlMillis 存活时间（毫秒）
+     * @param maxSize 最大条目数
+     */
+    public TtlCache(long ttlMillis, int maxSize) {
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            throw new IllegalArgumentException("ttlMillis和maxSize必须大于0");
+        }
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获取缓存值，未命中或已过期时通过loader加载
+     *
+     * @param key 键
+     * @param loader 加载函数，返回null时不缓存
+     * @return 值
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long loadEpoch = epoch.get();
+        V loaded = loader.apply(key);
+        if (loaded != null && epoch.get() == loadEpoch) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 获取未过期的缓存值
+     *
+     * @param key 键
+     * @return 值，不存在时返回null
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expireAt > System.currentTimeMillis()) {
+                hits.increment();
+                return entry.value;
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key 键
+     * @param value 值
+     */
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * 使指定键失效
+     *
+     * @param key 键
+     */
+    public void invalidate(K key) {
+        epoch.incrementAndGet();
+        entries.remove(key);
+    }
+
+    /**
+     * 使满足条件的条目失效
+     *
+     * @param predicate 判定条件
+     * @return 失效的条目数
+     */
+    public int invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        epoch.incrementAndGet();
+        int removed = 0;
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            if (predicate.test(e.getKey(), e.getValue().value) && entries.remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> {
+            if (e.getValue().expireAt <= now) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+        int overflow = entries.size() - maxSize;
+        if (overflow <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().expireAt))
+                .limit(overflow)
+                .forEach(e -> {
+                    if (entries.remove(e.getKey(), e.getValue())) {
+                        evictions.increment();
+                    }
+                });
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -96,6 +96,8 @@ CREATE TABLE `fault` (
     INDEX `idx_classification_id` (`classification_id`),
     INDEX `idx_system_element_id` (`system_element_id`),
     INDEX `idx_n` (`n`),
+    INDEX `idx_create_time` (`create_time`),
+    INDEX `idx_update_time` (`update_time`),
     FOREIGN KEY (`classification_id`) REFERENCES `fault_classification`(`id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='故障表';
 
@@ -141,6 +143,7 @@ CREATE TABLE `model` (
     INDEX `idx_n` (`n`),
     INDEX `idx_status` (`status`),
     INDEX `idx_create_time` (`create_time`),
+    INDEX `idx_update_time` (`update_time`),
     FOREIGN KEY (`category_id`) REFERENCES `model_category`(`id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='模型表';
 
@@ -153,7 +156,7 @@ CREATE TABLE `excel_operation_log` (
     `id` BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '主键ID',
     `template_key` VARCHAR(64) NOT NULL COMMENT '模板标识',
     `operation_type` VARCHAR(32) NOT NULL COMMENT '操作类型 IMPORT/EXPORT/TEMPLATE_DOWNLOAD',
-    `file_n` VARCHAR(255) COMMENT '文件名',
+    `file_name` VARCHAR(255) COMMENT '文件名',
     `file_size` BIGINT COMMENT '文件大小',
     `record_count` INT COMMENT '记录数量',
     `success_count` INT COMMENT '成功数量',
@@ -163,11 +166,14 @@ CREATE TABLE `excel_operation_log` (
     `operator` VARCHAR(64) COMMENT '操作人',
     `ip_address` VARCHAR(64) COMMENT 'IP地址',
     `user_agent` VARCHAR(512) COMMENT 'User Agent',
-    `status` TINYINT DEFAULT 1 COMMENT '状态 1:成功 2:失败 3:部分成功',
+    `status` TINYINT DEFAULT 1 COMMENT '状态 0:处理中 1:成功 2:失败 3:部分成功 4:排队中',
     `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `instance_id` VARCHAR(128) COMMENT '执行异步任务的应用实例',
+    `heartbeat_time` DATETIME COMMENT '异步任务心跳时间，超过租约未刷新视为实例已停止',
     INDEX `idx_template_key` (`template_key`),
     INDEX `idx_operation_type` (`operation_type`),
     INDEX `idx_operator` (`operator`),
     INDEX `idx_create_time` (`create_time`),
-    INDEX `idx_status` (`status`)
+    INDEX `idx_status` (`status`),
+    INDEX `idx_instance_status` (`instance_id`, `status`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Excel操作日志表';
@@ -0,0 +1,174 @@
+package com.framework.excel.service;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.framework.excel.config.ExcelConfig;
+import com.framework.excel.entity.Fault;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 分块批量写入基准
+ * <p>
+ * 向fault表写入合成数据，对比BATCH执行器分块写入（BatchUpsertWriter）与逐行自动提交的insertOrUpdateByCode，
+ * 分别报告首次写入（插入）与再次写入（更新）的墙钟耗时与吞吐；并验证分块中途失败时整体回滚。
+ * SqlSessionFactory与事务管理器按应用方式构建（mybatis-spring + Druid），需要按init.sql建表的MySQL，
+ * 连接串应带rewriteBatchedStatements=true，否则驱动不会改写为多值INSERT。数据以BENCH-为编码前缀，执行前后清理。
+ * 默认不执行，运行方式：mvn test -Dtest=BatchUpsertWriterBenchmarkTest -Dexcel.benchmark=true
+ * -Dexcel.benchmark.url=jdbc:mysql://localhost:3306/excel_framework?rewriteBatchedStatements=true
+ * （可用-Dexcel.benchmark.username、-Dexcel.benchmark.password、-Dexcel.benchmark.rows、-Dexcel.benchmark.batch-size）
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@EnabledIfSystemProperty(named = "excel.benchmark", matches = "true")
+@EnabledIfSystemProperty(named = "excel.benchmark.url", matches = ".+")
+class BatchUpsertWriterBenchmarkTest {
+
+    private static final String NAMESPACE = "com.framework.excel.mapper.FaultMapper.";
+
+    private static final String UPSERT = NAMESPACE + "insertOrUpdateByCode";
+
+    private static final String INSERT = NAMESPACE + "insert";
+
+    private static final String CODE_PREFIX = "BENCH-";
+
+    private static DruidDataSource dataSource;
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private static BatchUpsertWriter writer;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        dataSource = new DruidDataSource();
+        dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        dataSource.setUrl(System.getProperty("excel.benchmark.url"));
+        dataSource.setUsername(System.getProperty("excel.benchmark.username", "root"));
+        dataSource.setPassword(System.getProperty("excel.benchmark.password", ""));
+
+        Configuration configuration = new Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setConfiguration(configuration);
+        factoryBean.setMapperLocations(new ClassPathResource("mapper/FaultMapper.xml"));
+        sqlSessionFactory = factoryBean.getObject();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writer = new BatchUpsertWriter(sqlSessionFactory, new DataSourceTransactionManager(dataSource),
+                new ExcelConfig());
+        cleanUp();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (dataSource != null) {
+            cleanUp();
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void batchChunksVersusPerRow() {
+        int rows = Integer.getInteger("excel.benchmark.rows", 20000);
+        int batchSize = Integer.getInteger("excel.benchmark.batch-size", new ExcelConfig().getBatchSize());
+        List<ImportRow> perRowSamples = samples("R", rows);
+        List<ImportRow> batchSamples = samples("B", rows);
+        SqlSessionTemplate template = new SqlSessionTemplate(sqlSessionFactory);
+
+        System.out.printf("%-8s %-8s %12s %12s %10s%n", "mode", "phase", "wall(ms)", "rows/s", "failed");
+        for (String phase : new String[]{"insert", "update"}) {
+            long wallStart = System.nanoTime();
+            int failed = 0;
+            for (ImportRow row : perRowSamples) {
+                try {
+                    template.update(UPSERT, row.getEntity());
+                } catch (RuntimeException e) {
+                    failed++;
+                }
+            }
+            report("per-row", phase, rows, System.nanoTime() - wallStart, failed);
+
+            wallStart = System.nanoTime();
+            failed = 0;
+            for (int from = 0; from < rows; from += batchSize) {
+                ChunkResult result = writer.write(UPSERT, batchSamples.subList(from, Math.min(rows, from + batchSize)));
+                failed += result.getErrors().size();
+            }
+            report("batch", phase, rows, System.nanoTime() - wallStart, failed);
+        }
+    }
+
+    /**
+     * 分块由两条语句组成（同插入+更新分块），第一条已执行、第二条违反外键失败。
+     * 事务生效时整个分块回滚，逐行重放只报告坏行；若第一条语句已自动提交，重放INSERT会对其各行报重复键。
+     */
+    @Test
+    void failedChunkRollsBackAsWhole() {
+        List<ImportRow> good = samples("T", 3);
+        Fault invalid = (Fault) samples("X", 1).get(0).getEntity();
+        invalid.setClassificationId(Long.MAX_VALUE);
+        List<ImportRow> bad = Collections.singletonList(new ImportRow(100, invalid));
+        Map<String, List<ImportRow>> parts = new LinkedHashMap<>();
+        parts.put(INSERT, good);
+        parts.put(UPSERT, bad);
+
+        ChunkResult result = writer.write(parts);
+
+        assertEquals(3, result.getSuccessCount());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(100, result.getErrors().get(0).getRowNum());
+        assertEquals(3, count("T"));
+        assertEquals(0, count("X"));
+    }
+
+    private static int count(String series) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM fault WHERE code LIKE ?", Integer.class,
+                CODE_PREFIX + series + "%");
+        return count != null ? count : 0;
+    }
+
+    private static void report(String mode, String phase, int rows, long wallNanos, int failed) {
+        System.out.printf("%-8s %-8s %12d %12d %10d%n", mode, phase, wallNanos / 1000000L,
+                rows * 1000000000L / Math.max(wallNanos, 1L), failed);
+    }
+
+    private static List<ImportRow> samples(String series, int count) {
+        List<ImportRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Fault fault = new Fault();
+            fault.setCode(CODE_PREFIX + series + (100000 + i));
+            fault.setName("基准故障" + series + i);
+            fault.setFunctionId((long) (i % 100 + 1));
+            fault.setSeverityLevel(i % 4 + 1);
+            fault.setDescription("设备运行过程中出现异常告警，编号" + i + "，需要现场排查传感器与线路连接情况");
+            fault.setSolution("重启控制单元后观察运行状态，持续异常时联系厂家，工单" + i);
+            fault.setStatus(1);
+            rows.add(new ImportRow(i + 2, fault));
+        }
+        return rows;
+    }
+
+    private static void cleanUp() {
+        jdbcTemplate.update("DELETE FROM fault WHERE code LIKE ?", CODE_PREFIX + "%");
+    }
+}
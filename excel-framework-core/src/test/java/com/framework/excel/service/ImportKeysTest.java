@@ -0,0 +1,126 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * ImportKeys业务键规范化与任务内重复键登记测试
+ * <p>
+ * 规范化结果须与库表排序规则（utf8mb4_unicode_ci）下IN查询的匹配结果一致，否则已存在的行会被当作插入或跳过。
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+class ImportKeysTest {
+
+    private static final Timestamp TIMESTAMP = Timestamp.valueOf("2024-03-05 08:09:10");
+
+    /**
+     * 应视为同一键的值对：实体属性值（或文件中的写法）与库中返回值
+     */
+    private static final Object[][] EQUAL = {
+            {"ＡＢＣ－１２３", "abc-123"},
+            {"ｶﾀｶﾅ", "カタカナ"},
+            {"Café", "cafe"},
+            {"Ñandú", "nandu"},
+            {"ÀÉÎÕÜ", "aeiou"},
+            {"F001", "f001"},
+            {"F001  ", "F001"},
+            {"数据中心 ", "数据中心"},
+            {5, 5L},
+            {Integer.valueOf(-7), Long.valueOf(-7L)},
+            {new BigDecimal("1.50"), new BigDecimal("1.5")},
+            {new BigDecimal("100"), new BigDecimal("1E+2")},
+            {1.5d, new BigDecimal("1.500")},
+            {new BigDecimal("0.00"), 0},
+            {true, 1},
+            {new Date(TIMESTAMP.getTime()), TIMESTAMP},
+            {TIMESTAMP.toLocalDateTime(), TIMESTAMP},
+            {LocalDateTime.of(2024, 3, 5, 8, 9, 10), new Date(TIMESTAMP.getTime())},
+            {LocalDate.of(2024, 3, 5), java.sql.Date.valueOf("2024-03-05")},
+    };
+
+    /**
+     * 应视为不同键的值对
+     */
+    private static final Object[][] DIFFERENT = {
+            {"F001", "F002"},
+            {" F001", "F001"},
+            {"F 001", "F001"},
+            {new BigDecimal("1.05"), new BigDecimal("1.5")},
+            {5, 50L},
+            {Timestamp.valueOf("2024-03-05 08:09:11"), TIMESTAMP},
+            {LocalDate.of(2024, 3, 5), java.sql.Date.valueOf("2024-03-06")},
+    };
+
+    @Test
+    void equivalentValuesNormalizeAlike() {
+        for (Object[] pair : EQUAL) {
+            assertEquals(ImportKeys.normalize(pair[0]), ImportKeys.normalize(pair[1]),
+                    pair[0] + " <-> " + pair[1]);
+        }
+    }
+
+    @Test
+    void distinctValuesStayDistinct() {
+        for (Object[] pair : DIFFERENT) {
+            assertNotEquals(ImportKeys.normalize(pair[0]), ImportKeys.normalize(pair[1]),
+                    pair[0] + " <-> " + pair[1]);
+        }
+    }
+
+    @Test
+    void nullStaysNull() {
+        assertNull(ImportKeys.normalize(null));
+    }
+
+    @Test
+    void firstRowWinsForDuplicateKeys() {
+        ImportKeys keys = keys(DataType.STRING);
+        assertNull(keys.claim(2, new Object[]{"F001"}));
+        assertNull(keys.claim(3, new Object[]{"F002"}));
+        assertEquals(Integer.valueOf(2), keys.claim(4, new Object[]{"ｆ００１ "}));
+        assertEquals(Integer.valueOf(2), keys.claim(5, new Object[]{"F001"}));
+        assertEquals(Integer.valueOf(3), keys.claim(6, new Object[]{"f002"}));
+        assertNull(keys.claim(7, new Object[]{"F003"}));
+    }
+
+    @Test
+    void compositeKeysCompareEveryColumn() {
+        ImportKeys keys = keys(DataType.STRING, DataType.LONG);
+        assertNull(keys.claim(2, new Object[]{"Pump", 1}));
+        assertNull(keys.claim(3, new Object[]{"Pump", 2L}));
+        assertNull(keys.claim(4, new Object[]{"Valve", 1L}));
+        assertEquals(Integer.valueOf(2), keys.claim(5, new Object[]{"PUMP ", 1L}));
+        assertEquals(Integer.valueOf(3), keys.claim(6, new Object[]{"pump", 2}));
+    }
+
+    private static ImportKeys keys(DataType... types) {
+        List<ExcelFieldConfig> fields = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        int[] positions = new int[types.length];
+        for (int i = 0; i < types.length; i++) {
+            ExcelFieldConfig field = new ExcelFieldConfig();
+            field.setFieldName("key" + i);
+            field.setColumnName("键" + i);
+            field.setDataType(types[i]);
+            fields.add(field);
+            columns.add("key_" + i);
+            positions[i] = i;
+        }
+        return new ImportKeys(fields, null, positions, "sample", columns, null, null, null, null);
+    }
+}
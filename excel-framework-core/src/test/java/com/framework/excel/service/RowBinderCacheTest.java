@@ -0,0 +1,54 @@
+package com.framework.excel.service;
+
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.entity.Fault;
+import com.framework.excel.util.RowBinder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * RowBinderCache版本校验与配置变更失效测试
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+class RowBinderCacheTest {
+
+    @Test
+    void reusesBinderForSameVersion() {
+        RowBinderCache cache = new RowBinderCache();
+        RowBinder binder = cache.get(template(1L));
+        assertSame(binder, cache.get(template(1L)));
+        assertNotSame(binder, cache.get(template(2L)));
+    }
+
+    @Test
+    void invalidateAllForcesRecompile() {
+        RowBinderCache cache = new RowBinderCache();
+        RowBinder binder = cache.get(template(1L));
+        cache.invalidateAll();
+        assertNotSame(binder, cache.get(template(1L)));
+    }
+
+    private static ExcelTemplateConfig template(Long version) {
+        List<ExcelFieldConfig> fields = new ArrayList<>();
+        ExcelFieldConfig field = new ExcelFieldConfig();
+        field.setFieldName("code");
+        field.setColumnName("故障编码");
+        field.setDataType(DataType.STRING);
+        fields.add(field);
+        ExcelTemplateConfig template = new ExcelTemplateConfig();
+        template.setTemplateKey("fault");
+        template.setEntityClass(Fault.class);
+        template.setFields(fields);
+        template.setVersion(version);
+        return template;
+    }
+}
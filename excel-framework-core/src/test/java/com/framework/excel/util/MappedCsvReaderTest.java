@@ -0,0 +1,149 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.exception.ExcelException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MappedCsvReader的RFC 4180解析测试
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+class MappedCsvReaderTest {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void quotedCommaAndNewline() throws IOException {
+        List<Object[]> rows = read("编码,名称,描述\r\nF1,\"a,b\",\"第一行\n第二行\"\r\n");
+        assertEquals(1, rows.size());
+        assertArrayEquals(new Object[]{"F1", "a,b", "第一行\n第二行"}, rows.get(0));
+    }
+
+    @Test
+    void doubledQuotes() throws IOException {
+        List<Object[]> rows = read("编码,名称,描述\nF1,\"say \"\"hi\"\"\",\"\"\"\"\n");
+        assertArrayEquals(new Object[]{"F1", "say \"hi\"", "\""}, rows.get(0));
+    }
+
+    @Test
+    void skipsBom() throws IOException {
+        byte[] body = "编码,名称,描述\nF1,a,b\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = Arrays.copyOf(BOM, BOM.length + body.length);
+        System.arraycopy(body, 0, content, BOM.length, body.length);
+        List<Object[]> rows = read(content, 100, new ArrayList<>());
+        assertArrayEquals(new Object[]{"F1", "a", "b"}, rows.get(0));
+    }
+
+    @Test
+    void mixedLineEndings() throws IOException {
+        List<Integer> rowNums = new ArrayList<>();
+        List<Object[]> rows = read("编码,名称,描述\r\nF1,a,b\nF2,c,d\r\nF3,e,f".getBytes(StandardCharsets.UTF_8), 100,
+                rowNums);
+        assertEquals(3, rows.size());
+        assertArrayEquals(new Object[]{"F1", "a", "b"}, rows.get(0));
+        assertArrayEquals(new Object[]{"F2", "c", "d"}, rows.get(1));
+        assertArrayEquals(new Object[]{"F3", "e", "f"}, rows.get(2));
+        assertEquals(Arrays.asList(2, 3, 4), rowNums);
+    }
+
+    @Test
+    void emptyFieldsAreNull() throws IOException {
+        List<Object[]> rows = read("编码,名称,描述\nF1,,\"\"\n");
+        assertArrayEquals(new Object[]{"F1", null, null}, rows.get(0));
+    }
+
+    @Test
+    void unterminatedQuote() {
+        ExcelException e = assertThrows(ExcelException.class, () -> read("编码,名称,描述\nF1,\"abc,def\n"));
+        assertEquals(400, e.getCode());
+    }
+
+    @Test
+    void multiByteValues() throws IOException {
+        List<Object[]> rows = read("编码,名称,描述\nF１,传感器故障,\"温度😀，过高\"\n");
+        assertArrayEquals(new Object[]{"F１", "传感器故障", "温度😀，过高"}, rows.get(0));
+    }
+
+    @Test
+    void stopsAtMaxRows() throws IOException {
+        StringBuilder csv = new StringBuilder("编码,名称,描述\n");
+        for (int i = 1; i <= 5; i++) {
+            csv.append('F').append(i).append(",a,b\n");
+        }
+        List<Object[]> rows = new ArrayList<>();
+        StreamingExcelReader.ReadSummary summary = reader(3)
+                .read(write(csv.toString().getBytes(StandardCharsets.UTF_8)), (rowNum, values) -> rows.add(values));
+        assertEquals(3, rows.size());
+        assertEquals(3, summary.getRowCount());
+        assertTrue(summary.isTruncated());
+
+        rows.clear();
+        summary = reader(5).read(write(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                (rowNum, values) -> rows.add(values));
+        assertEquals(5, summary.getRowCount());
+        assertFalse(summary.isTruncated());
+    }
+
+    private List<Object[]> read(String csv) throws IOException {
+        return read(csv.getBytes(StandardCharsets.UTF_8), 100, new ArrayList<>());
+    }
+
+    private List<Object[]> read(byte[] content, int maxRows, List<Integer> rowNums) throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        reader(maxRows).read(write(content), (rowNum, values) -> {
+            rowNums.add(rowNum);
+            rows.add(values);
+        });
+        return rows;
+    }
+
+    private File write(byte[] content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "import-", ".csv");
+        Files.write(file, content);
+        return file.toFile();
+    }
+
+    private static MappedCsvReader reader(int maxRows) {
+        List<ExcelFieldConfig> fields = new ArrayList<>();
+        fields.add(field("code", "编码"));
+        fields.add(field("name", "名称"));
+        fields.add(field("description", "描述"));
+        ExcelTemplateConfig template = new ExcelTemplateConfig();
+        template.setTemplateKey("test");
+        template.setFields(fields);
+        CellConverter[] rawText = new CellConverter[fields.size()];
+        Arrays.fill(rawText, (CellConverter) text -> text);
+        return new MappedCsvReader(template, rawText, maxRows);
+    }
+
+    private static ExcelFieldConfig field(String fieldName, String columnName) {
+        ExcelFieldConfig field = new ExcelFieldConfig();
+        field.setFieldName(fieldName);
+        field.setColumnName(columnName);
+        field.setDataType(DataType.STRING);
+        return field;
+    }
+}
@@ -0,0 +1,146 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * RowBinder数值属性无损收窄测试
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+class RowBinderTest {
+
+    private static final int LONG_TO_INTEGER = 0;
+
+    private static final int DECIMAL_TO_INTEGER = 1;
+
+    private static final int DOUBLE_TO_LONG = 2;
+
+    private static final int DECIMAL_TO_PRIMITIVE_INT = 3;
+
+    private final RowBinder binder = RowBinder.compile(template());
+
+    @Test
+    void longOverflowIntoIntegerIsRejected() {
+        Sample sample = new Sample();
+        assertThrows(IllegalArgumentException.class,
+                () -> binder.set(sample, LONG_TO_INTEGER, (long) Integer.MAX_VALUE + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> binder.set(sample, LONG_TO_INTEGER, (long) Integer.MIN_VALUE - 1));
+        assertNull(sample.getCount());
+    }
+
+    @Test
+    void decimalWithFractionIntoIntegerIsRejected() {
+        Sample sample = new Sample();
+        assertThrows(IllegalArgumentException.class,
+                () -> binder.set(sample, DECIMAL_TO_INTEGER, new BigDecimal("1.5")));
+        assertThrows(IllegalArgumentException.class,
+                () -> binder.set(sample, DECIMAL_TO_PRIMITIVE_INT, new BigDecimal("-0.01")));
+        assertThrows(IllegalArgumentException.class,
+                () -> binder.set(sample, DECIMAL_TO_INTEGER, new BigDecimal("1E10")));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(sample, DOUBLE_TO_LONG, 2.5d));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(sample, DOUBLE_TO_LONG, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(sample, DOUBLE_TO_LONG, 1e19d));
+        assertNull(sample.getLevel());
+        assertNull(sample.getTotal());
+    }
+
+    @Test
+    void exactNarrowingIsAccepted() {
+        Sample sample = new Sample();
+        binder.set(sample, LONG_TO_INTEGER, (long) Integer.MIN_VALUE);
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE), sample.getCount());
+        binder.set(sample, LONG_TO_INTEGER, 42L);
+        assertEquals(Integer.valueOf(42), sample.getCount());
+
+        binder.set(sample, DECIMAL_TO_INTEGER, new BigDecimal("7.000"));
+        assertEquals(Integer.valueOf(7), sample.getLevel());
+        binder.set(sample, DECIMAL_TO_INTEGER, new BigDecimal("2.147483647E9"));
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE), sample.getLevel());
+
+        binder.set(sample, DOUBLE_TO_LONG, 3.0d);
+        assertEquals(Long.valueOf(3L), sample.getTotal());
+
+        binder.set(sample, DECIMAL_TO_PRIMITIVE_INT, new BigDecimal("-12"));
+        assertEquals(-12, sample.getRank());
+    }
+
+    private static ExcelTemplateConfig template() {
+        List<ExcelFieldConfig> fields = new ArrayList<>();
+        fields.add(field("count", DataType.LONG));
+        fields.add(field("level", DataType.BIG_DECIMAL));
+        fields.add(field("total", DataType.DOUBLE));
+        fields.add(field("rank", DataType.BIG_DECIMAL));
+        ExcelTemplateConfig template = new ExcelTemplateConfig();
+        template.setTemplateKey("sample");
+        template.setEntityClass(Sample.class);
+        template.setFields(fields);
+        return template;
+    }
+
+    private static ExcelFieldConfig field(String fieldName, DataType dataType) {
+        ExcelFieldConfig field = new ExcelFieldConfig();
+        field.setFieldName(fieldName);
+        field.setColumnName(fieldName);
+        field.setDataType(dataType);
+        return field;
+    }
+
+    /**
+     * 属性类型比单元格类型窄的实体
+     */
+    public static class Sample {
+
+        private Integer count;
+
+        private Integer level;
+
+        private Long total;
+
+        private int rank;
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+
+        public Integer getLevel() {
+            return level;
+        }
+
+        public void setLevel(Integer level) {
+            this.level = level;
+        }
+
+        public Long getTotal() {
+            return total;
+        }
+
+        public void setTotal(Long total) {
+            this.total = total;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public void setRank(int rank) {
+            this.rank = rank;
+        }
+    }
+}
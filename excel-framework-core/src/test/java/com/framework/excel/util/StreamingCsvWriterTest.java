@@ -0,0 +1,96 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.entity.Fault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * StreamingCsvWriter与MappedCsvReader的往返测试
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+class StreamingCsvWriterTest {
+
+    private static final String[][] VALUES = {
+            {"-A01", "=SUM(A1:A2)", "@home"},
+            {"+86 10", "\t缩进", "含逗号,与\"引号\"\n及换行"},
+            {"F003", "普通名称", "-"},
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripKeepsValues() throws IOException {
+        List<Object[]> rows = roundTrip(false);
+        assertEquals(VALUES.length, rows.size());
+        for (int i = 0; i < VALUES.length; i++) {
+            assertArrayEquals(VALUES[i], rows.get(i));
+        }
+    }
+
+    @Test
+    void formulaGuardPrefixesQuote() throws IOException {
+        List<Object[]> rows = roundTrip(true);
+        assertArrayEquals(new Object[]{"'-A01", "'=SUM(A1:A2)", "'@home"}, rows.get(0));
+        assertArrayEquals(new Object[]{"'+86 10", "'\t缩进", "含逗号,与\"引号\"\n及换行"}, rows.get(1));
+        assertArrayEquals(new Object[]{"F003", "普通名称", "'-"}, rows.get(2));
+    }
+
+    private List<Object[]> roundTrip(boolean formulaGuard) throws IOException {
+        ExcelTemplateConfig template = template();
+        Path file = Files.createTempFile(tempDir, "export-", ".csv");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            StreamingCsvWriter writer = new StreamingCsvWriter(template, RowBinder.compile(template), out);
+            writer.setFormulaGuard(formulaGuard);
+            for (String[] values : VALUES) {
+                Fault fault = new Fault();
+                fault.setCode(values[0]);
+                fault.setName(values[1]);
+                fault.setDescription(values[2]);
+                writer.writeRow(fault);
+            }
+            writer.flush();
+        }
+        CellConverter[] rawText = new CellConverter[template.getFields().size()];
+        Arrays.fill(rawText, (CellConverter) text -> text);
+        List<Object[]> rows = new ArrayList<>();
+        new MappedCsvReader(template, rawText, 100).read(file.toFile(), (rowNum, values) -> rows.add(values));
+        return rows;
+    }
+
+    private static ExcelTemplateConfig template() {
+        List<ExcelFieldConfig> fields = new ArrayList<>();
+        fields.add(field("code", "故障编码"));
+        fields.add(field("name", "故障名称"));
+        fields.add(field("description", "故障描述"));
+        ExcelTemplateConfig template = new ExcelTemplateConfig();
+        template.setTemplateKey("fault");
+        template.setEntityClass(Fault.class);
+        template.setFields(fields);
+        return template;
+    }
+
+    private static ExcelFieldConfig field(String fieldName, String columnName) {
+        ExcelFieldConfig field = new ExcelFieldConfig();
+        field.setFieldName(fieldName);
+        field.setColumnName(columnName);
+        field.setDataType(DataType.STRING);
+        return field;
+    }
+}
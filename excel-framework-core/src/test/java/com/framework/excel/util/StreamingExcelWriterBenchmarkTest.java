@@ -0,0 +1,161 @@
+package com.framework.excel.util;
+
+import com.example.excel.config.DataType;
+import com.example.excel.config.ExcelFieldConfig;
+import com.example.excel.config.ExcelTemplateConfig;
+import com.framework.excel.common.CompressionLevel;
+import com.framework.excel.entity.Fault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 流式写入器基准
+ * <p>
+ * 合成50万行故障数据，按各压缩级别输出xlsx，并与CSV输出对比，报告CPU耗时、墙钟耗时与输出字节数。
+ * 默认不执行，运行方式：mvn test -Dtest=StreamingExcelWriterBenchmarkTest -Dexcel.benchmark=true
+ * （可用-Dexcel.benchmark.rows指定行数）
+ *
+ * @author Framework
+ * @since 1.0.0
+ */
+@EnabledIfSystemProperty(named = "excel.benchmark", matches = "true")
+class StreamingExcelWriterBenchmarkTest {
+
+    @Test
+    void compressionLevels() throws IOException {
+        int rows = Integer.getInteger("excel.benchmark.rows", 500000);
+        ExcelTemplateConfig template = faultTemplate();
+        RowBinder binder = RowBinder.compile(template);
+        List<Fault> samples = samples(1000);
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        System.out.printf("%-8s %12s %12s %16s%n", "level", "cpu(ms)", "wall(ms)", "bytes");
+        for (CompressionLevel level : CompressionLevel.values()) {
+            CountingOutputStream out = new CountingOutputStream();
+            long cpuStart = threadBean.getCurrentThreadCpuTime();
+            long wallStart = System.nanoTime();
+            try (StreamingExcelWriter writer = new StreamingExcelWriter(template, binder, 100)) {
+                writer.setCompression(level);
+                for (int i = 0; i < rows; i++) {
+                    writer.writeRow(samples.get(i % samples.size()));
+                }
+                writer.write(out);
+            }
+            long cpu = (threadBean.getCurrentThreadCpuTime() - cpuStart) / 1000000L;
+            long wall = (System.nanoTime() - wallStart) / 1000000L;
+            System.out.printf("%-8s %12d %12d %16d%n", level, cpu, wall, out.count);
+        }
+    }
+
+    @Test
+    void csvVersusXlsx() throws IOException {
+        int rows = Integer.getInteger("excel.benchmark.rows", 500000);
+        ExcelTemplateConfig template = faultTemplate();
+        RowBinder binder = RowBinder.compile(template);
+        List<Fault> samples = samples(1000);
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        System.out.printf("%-8s %12s %12s %16s %12s%n", "format", "cpu(ms)", "wall(ms)", "bytes", "rows/s");
+        CountingOutputStream xlsxOut = new CountingOutputStream();
+        long cpuStart = threadBean.getCurrentThreadCpuTime();
+        long wallStart = System.nanoTime();
+        try (StreamingExcelWriter writer = new StreamingExcelWriter(template, binder, 100)) {
+            for (int i = 0; i < rows; i++) {
+                writer.writeRow(samples.get(i % samples.size()));
+            }
+            writer.write(xlsxOut);
+        }
+        report("xlsx", rows, threadBean.getCurrentThreadCpuTime() - cpuStart, System.nanoTime() - wallStart,
+                xlsxOut.count);
+
+        CountingOutputStream csvOut = new CountingOutputStream();
+        cpuStart = threadBean.getCurrentThreadCpuTime();
+        wallStart = System.nanoTime();
+        StreamingCsvWriter writer = new StreamingCsvWriter(template, binder, csvOut);
+        for (int i = 0; i < rows; i++) {
+            writer.writeRow(samples.get(i % samples.size()));
+        }
+        writer.flush();
+        report("csv", rows, threadBean.getCurrentThreadCpuTime() - cpuStart, System.nanoTime() - wallStart,
+                csvOut.count);
+    }
+
+    private static void report(String format, int rows, long cpuNanos, long wallNanos, long bytes) {
+        System.out.printf("%-8s %12d %12d %16d %12d%n", format, cpuNanos / 1000000L, wallNanos / 1000000L, bytes,
+                rows * 1000000000L / Math.max(wallNanos, 1L));
+    }
+
+    private static ExcelTemplateConfig faultTemplate() {
+        List<ExcelFieldConfig> fields = new ArrayList<>();
+        fields.add(field("code", "故障编码", DataType.STRING));
+        fields.add(field("name", "故障名称", DataType.STRING));
+        fields.add(field("classificationId", "分类ID", DataType.LONG));
+        fields.add(field("description", "故障描述", DataType.STRING));
+        fields.add(field("suggestion", "处理建议", DataType.STRING));
+        fields.add(field("status", "状态", DataType.INTEGER));
+        fields.add(field("severityLevel", "严重等级", DataType.INTEGER));
+        fields.add(field("solution", "解决方案", DataType.STRING));
+        fields.add(field("createTime", "创建时间", DataType.DATETIME));
+
+        ExcelTemplateConfig template = new ExcelTemplateConfig();
+        template.setTemplateKey("fault");
+        template.setSheetName("故障");
+        template.setEntityClass(Fault.class);
+        template.setFields(fields);
+        template.setVersion(1L);
+        return template;
+    }
+
+    private static ExcelFieldConfig field(String fieldName, String columnName, DataType dataType) {
+        ExcelFieldConfig field = new ExcelFieldConfig();
+        field.setFieldName(fieldName);
+        field.setColumnName(columnName);
+        field.setDataType(dataType);
+        return field;
+    }
+
+    private static List<Fault> samples(int count) {
+        List<Fault> faults = new ArrayList<>(count);
+        Date now = new Date();
+        for (int i = 0; i < count; i++) {
+            Fault fault = new Fault();
+            fault.setCode("F" + (100000 + i));
+            fault.setName("故障" + i);
+            fault.setClassificationId((long) (i % 50));
+            fault.setDescription("设备运行过程中出现异常告警，编号" + i + "，需要现场排查传感器与线路连接情况");
+            fault.setSuggestion("检查线路连接，必要时更换传感器" + (i % 7));
+            fault.setStatus(i % 2);
+            fault.setSeverityLevel(i % 5);
+            fault.setSolution("重启控制单元后观察运行状态，持续异常时联系厂家，工单" + i);
+            fault.setCreateTime(new Date(now.getTime() - i * 60000L));
+            faults.add(fault);
+        }
+        return faults;
+    }
+
+    /**
+     * 只计数不保存的输出流
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}